@@ -0,0 +1,146 @@
+package com.example.backend.config;
+
+import com.example.backend.model.User;
+import com.example.backend.service.CurrentUserService;
+import com.example.backend.service.DataVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Answers conditional GETs of the dashboard, bid analytics, tender and company
+ * endpoints before the handler runs. The weak ETag of a request is derived from
+ * the data versions its response depends on; when it matches If-None-Match the
+ * response is a 304 and no data is read.
+ *
+ * Dashboard and analytics responses also depend on the current time (relative
+ * periods, days left) and on the user's time zone setting, so their ETags include
+ * the current hour and the user, and they may be served up to an hour stale.
+ * The client's own dashboard depends only on their tenders and the bids on them,
+ * so its ETags use the client's version instead of the collection versions.
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    @Autowired
+    private DataVersions dataVersions;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        String etag = etagFor(request);
+        if (etag == null) {
+            return true;
+        }
+        // Let browsers keep the response but revalidate it on every use
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    private String etagFor(HttpServletRequest request) {
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null) {
+            variables = Collections.emptyMap();
+        }
+        String companyId = variables.get("companyId");
+
+        List<String> keys = new ArrayList<>();
+        boolean userAndTime = false;
+        if (pattern.startsWith("/api/dashboard/")) {
+            if (pattern.equals("/api/dashboard/client/snapshot")) {
+                // Carries the ETag of the snapshot version itself
+                return null;
+            }
+            if (pattern.endsWith("/activity-feed")) {
+                // Feeds are written after the data versions are bumped, so an ETag could pin a stale feed
+                return null;
+            }
+            if (pattern.startsWith("/api/dashboard/client/me/")) {
+                // Scoped to the user's own tenders and the bids on them; company details are joined in
+                Optional<User> user = currentUserService.currentUser();
+                if (user.isEmpty()) {
+                    return null;
+                }
+                keys.add(DataVersions.client(user.get().getId()));
+                keys.add(DataVersions.COMPANIES);
+            } else if (companyId != null) {
+                keys.add(DataVersions.company(companyId));
+                keys.add(DataVersions.TENDERS);
+            } else {
+                keys.add(DataVersions.TENDERS);
+                keys.add(DataVersions.BIDS);
+                keys.add(DataVersions.COMPANIES);
+                keys.add(DataVersions.COUNTERS);
+            }
+            userAndTime = true;
+        } else if (pattern.startsWith("/api/analytics/bids/")) {
+            if (pattern.endsWith("/cache/stats")) {
+                return null;
+            }
+            if (companyId != null) {
+                keys.add(DataVersions.company(companyId));
+                keys.add(DataVersions.TENDERS);
+            } else {
+                keys.add(DataVersions.TENDERS);
+                keys.add(DataVersions.BIDS);
+                keys.add(DataVersions.COMPANIES);
+            }
+            userAndTime = true;
+        } else if (pattern.startsWith("/api/tenders/locations")) {
+            keys.add("tender_locations");
+        } else if (pattern.equals("/api/tenders") || pattern.startsWith("/api/tenders/")) {
+            keys.add(DataVersions.TENDERS);
+            if (companyId != null) {
+                keys.add(DataVersions.BIDS);
+            }
+        } else if (pattern.equals("/api/companies/{id}")) {
+            keys.add(DataVersions.company(variables.get("id")));
+        } else {
+            return null;
+        }
+
+        StringBuilder etag = new StringBuilder("W/\"").append(Long.toString(dataVersions.getEpoch(), 36));
+        for (String key : keys) {
+            etag.append('-').append(dataVersions.get(key));
+        }
+        if (userAndTime) {
+            // The user's time zone is stored in their settings
+            etag.append('-').append(dataVersions.get("user_settings"))
+                    .append("-h").append(System.currentTimeMillis() / HOUR_MILLIS)
+                    .append("-u").append(Integer.toHexString(principalName().hashCode()));
+        }
+        return etag.append('"').toString();
+    }
+
+    private static String principalName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getName() != null ? authentication.getName() : "";
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.backend.config;
+
+import com.example.backend.util.Timestamps;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Instants are written as ISO-8601 strings. When reading, also accept the
+     * local date-times and plain dates that clients send (e.g. from date inputs).
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer lenientInstantCustomizer() {
+        return builder -> builder.deserializerByType(Instant.class, new JsonDeserializer<Instant>() {
+            @Override
+            public Instant deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+                if (parser.currentToken().isNumeric()) {
+                    return Instant.ofEpochMilli(parser.getLongValue());
+                }
+                String text = parser.getValueAsString();
+                try {
+                    return Timestamps.parse(text);
+                } catch (DateTimeParseException e) {
+                    return (Instant) context.handleWeirdStringValue(Instant.class, text, e.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.backend.config;
+
+import com.example.backend.util.Timestamps;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(new LegacyTimestampReadingConverter()));
+    }
+
+    /**
+     * Reads timestamps that are still stored as ISO strings, so documents load
+     * before and while TimestampMigrationService converts them to BSON dates.
+     */
+    @ReadingConverter
+    static class LegacyTimestampReadingConverter implements Converter<String, Instant> {
+        @Override
+        public Instant convert(String source) {
+            try {
+                return Timestamps.parse(source);
+            } catch (DateTimeParseException e) {
+                // Unparseable values are kept by the migration under <field>Legacy
+                return null;
+            }
+        }
+    }
+}
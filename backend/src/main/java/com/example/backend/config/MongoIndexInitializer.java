@@ -0,0 +1,61 @@
+package com.example.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the indexes declared with {@code @Indexed}/{@code @CompoundIndex} on the
+ * document classes once the application is ready. Runs in the background so an
+ * unreachable database or a long index build does not block startup, which is
+ * why Spring Data's auto-index-creation is turned off. Disabled with
+ * {@code mongo.indexes.create-on-startup=false}.
+ */
+@Component
+@ConditionalOnProperty(name = "mongo.indexes.create-on-startup", havingValue = "true", matchIfMissing = true)
+public class MongoIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        Thread thread = new Thread(this::ensureIndexes, "mongo-index-initializer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void ensureIndexes() {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            try {
+                IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+                for (IndexDefinition index : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                    indexOps.ensureIndex(index);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not create indexes for {}: {}", entity.getCollection(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.BatchResultDTO;
+import com.example.backend.service.BatchIngestService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+
+@CrossOrigin(maxAge = 3600)
+@RestController
+@RequestMapping("/api")
+public class BatchController {
+
+    @Autowired
+    private BatchIngestService batchIngestService;
+
+    /**
+     * Import tenders from a JSON array of tender objects. The body is read as a
+     * stream, so it is not bound to a request body parameter.
+     * @param request The request carrying the array
+     * @return Counts and the outcome of every record, in request order
+     */
+    @PostMapping(value = "/tenders:batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResultDTO> importTenders(HttpServletRequest request) throws IOException {
+        try {
+            return ResponseEntity.ok(batchIngestService.importTenders(request.getInputStream()));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Import bids from a JSON array of bid objects, each naming its tenderId
+     * @param request The request carrying the array
+     * @return Counts and the outcome of every record, in request order
+     */
+    @PostMapping(value = "/bids:batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResultDTO> importBids(HttpServletRequest request) throws IOException {
+        try {
+            return ResponseEntity.ok(batchIngestService.importBids(request.getInputStream()));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
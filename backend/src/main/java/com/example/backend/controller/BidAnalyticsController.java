@@ -1,12 +1,28 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.*;
+import com.example.backend.service.AnalyticsCache;
+import com.example.backend.service.AnalyticsEngine;
+import com.example.backend.service.BidAggregationService;
 import com.example.backend.service.BidAnalyticsService;
+import com.example.backend.service.BidOverviewService;
+import com.example.backend.service.BidRollupService;
+import com.example.backend.service.UserTimeZoneService;
+import com.example.backend.util.TimeBuckets;
+import com.example.backend.util.TimeBuckets.Granularity;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Locale;
 import java.util.Map;
 import java.util.List;
+import java.util.function.Supplier;
 
 @CrossOrigin(maxAge = 3600)
 @RestController
@@ -16,63 +32,214 @@ public class BidAnalyticsController {
     @Autowired
     private BidAnalyticsService bidAnalyticsService;
 
+    @Autowired
+    private BidAggregationService bidAggregationService;
+
+    @Autowired
+    private BidRollupService bidRollupService;
+
+    @Autowired
+    private AnalyticsCache analyticsCache;
+
+    @Autowired
+    private BidOverviewService bidOverviewService;
+
+    @Autowired
+    private UserTimeZoneService userTimeZoneService;
+
+    // Default engine per endpoint, overridable per request with ?engine=jvm|pipeline|rollup
+    @Value("${analytics.engine.success-rate:jvm}")
+    private String successRateEngine;
+
+    @Value("${analytics.engine.volume:jvm}")
+    private String volumeEngine;
+
+    @Value("${analytics.engine.distribution:jvm}")
+    private String distributionEngine;
+
+    @Value("${analytics.engine.statistics:jvm}")
+    private String statisticsEngine;
+
+    @Value("${analytics.engine.performance:jvm}")
+    private String performanceEngine;
+
     @GetMapping("/success-rate/{companyId}")
-    public ResponseEntity<Map<String, Object>> getBidSuccessRate(
+    public ResponseEntity<RateSeriesDTO> getBidSuccessRate(
             @PathVariable String companyId,
-            @RequestParam(defaultValue = "6") int months) {
-        return ResponseEntity.ok(bidAnalyticsService.getBidSuccessRate(companyId, months));
+            @RequestParam(defaultValue = "6") int months,
+            @RequestParam(defaultValue = "month") String granularity,
+            @RequestParam(required = false) String engine) {
+        Granularity size = resolveGranularity(granularity);
+        ZoneId zone = userTimeZoneService.currentZone();
+        AnalyticsEngine selected = rollupFallback(resolveEngine(engine, successRateEngine), size);
+        TimeBuckets buckets = TimeBuckets.last(months, size, ZonedDateTime.now(zone));
+        return timed(selected, () -> analyticsCache.get("success-rate", companyId, () -> switch (selected) {
+            case PIPELINE -> bidAggregationService.getBidSuccessRate(companyId, buckets);
+            case ROLLUP -> bidRollupService.getBidSuccessRate(companyId, months);
+            default -> bidAnalyticsService.getBidSuccessRate(companyId, buckets);
+        }, selected, months, size, zone.getId()));
     }
 
     @GetMapping("/volume/{companyId}")
-    public ResponseEntity<Map<String, Object>> getBidVolume(
+    public ResponseEntity<CountSeriesDTO> getBidVolume(
             @PathVariable String companyId,
-            @RequestParam(defaultValue = "6") int months) {
-        return ResponseEntity.ok(bidAnalyticsService.getBidVolume(companyId, months));
+            @RequestParam(defaultValue = "6") int months,
+            @RequestParam(defaultValue = "month") String granularity,
+            @RequestParam(required = false) String engine) {
+        Granularity size = resolveGranularity(granularity);
+        ZoneId zone = userTimeZoneService.currentZone();
+        AnalyticsEngine selected = rollupFallback(resolveEngine(engine, volumeEngine), size);
+        TimeBuckets buckets = TimeBuckets.last(months, size, ZonedDateTime.now(zone));
+        return timed(selected, () -> analyticsCache.get("volume", companyId, () -> switch (selected) {
+            case PIPELINE -> bidAggregationService.getBidVolume(companyId, buckets);
+            case ROLLUP -> bidRollupService.getBidVolume(companyId, months);
+            default -> bidAnalyticsService.getBidVolume(companyId, buckets);
+        }, selected, months, size, zone.getId()));
     }
 
     @GetMapping("/distribution/{companyId}")
-    public ResponseEntity<Map<String, Object>> getBidDistribution(
-            @PathVariable String companyId) {
-        return ResponseEntity.ok(bidAnalyticsService.getBidDistribution(companyId));
+    public ResponseEntity<LabeledCountsDTO> getBidDistribution(
+            @PathVariable String companyId,
+            @RequestParam(required = false) String engine) {
+        AnalyticsEngine selected = resolveEngine(engine, distributionEngine);
+        return timed(selected, () -> analyticsCache.get("distribution", companyId, () -> switch (selected) {
+            case PIPELINE -> bidAggregationService.getBidDistribution(companyId);
+            case ROLLUP -> bidRollupService.getBidDistribution(companyId);
+            default -> bidAnalyticsService.getBidDistribution(companyId);
+        }, selected));
     }
 
     @GetMapping("/statistics/{companyId}")
-    public ResponseEntity<Map<String, Object>> getBidStatistics(
-            @PathVariable String companyId) {
-        return ResponseEntity.ok(bidAnalyticsService.getBidStatistics(companyId));
+    public ResponseEntity<BidStatisticsDTO> getBidStatistics(
+            @PathVariable String companyId,
+            @RequestParam(required = false) String engine) {
+        AnalyticsEngine selected = resolveEngine(engine, statisticsEngine);
+        ZoneId zone = userTimeZoneService.currentZone();
+        return timed(selected, () -> analyticsCache.get("statistics", companyId, () -> switch (selected) {
+            case PIPELINE -> bidAggregationService.getBidStatistics(companyId, zone);
+            case ROLLUP -> bidRollupService.getBidStatistics(companyId);
+            default -> bidAnalyticsService.getBidStatistics(companyId, zone);
+        }, selected, zone.getId()));
     }
 
     @GetMapping("/performance/{companyId}")
-    public ResponseEntity<Map<String, Object>> getPerformanceMetrics(
-            @PathVariable String companyId) {
-        return ResponseEntity.ok(bidAnalyticsService.getPerformanceMetrics(companyId));
+    public ResponseEntity<PerformanceMetricsDTO> getPerformanceMetrics(
+            @PathVariable String companyId,
+            @RequestParam(required = false) String engine) {
+        // Performance metrics have no pipeline implementation
+        AnalyticsEngine selected = resolveEngine(engine, performanceEngine) == AnalyticsEngine.ROLLUP
+                ? AnalyticsEngine.ROLLUP
+                : AnalyticsEngine.JVM;
+        return timed(selected, () -> analyticsCache.get("performance", companyId, () -> switch (selected) {
+            case ROLLUP -> bidRollupService.getPerformanceMetrics(companyId);
+            default -> bidAnalyticsService.getPerformanceMetrics(companyId);
+        }, selected));
+    }
+
+    /**
+     * All company dashboard sections in one request: statistics, performance,
+     * success rate, volume, distribution and analysis. Sections that are not
+     * ready in time are listed under "incomplete" instead of failing the request.
+     */
+    @GetMapping("/overview/{companyId}")
+    public ResponseEntity<Map<String, Object>> getOverview(
+            @PathVariable String companyId,
+            @RequestParam(defaultValue = "6") int months,
+            @RequestParam(defaultValue = "month") String granularity) {
+        ZoneId zone = userTimeZoneService.currentZone();
+        TimeBuckets buckets = TimeBuckets.last(months, resolveGranularity(granularity), ZonedDateTime.now(zone));
+        return timed(AnalyticsEngine.JVM, () -> bidOverviewService.getOverview(companyId, buckets, zone));
+    }
+
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildRollups(
+            @RequestParam(required = false) String companyId) {
+        int rebuilt;
+        if (companyId != null) {
+            bidRollupService.rebuild(companyId);
+            rebuilt = 1;
+        } else {
+            rebuilt = bidRollupService.rebuildAll();
+        }
+        analyticsCache.clear();
+        return ResponseEntity.ok(Map.of("rebuilt", rebuilt));
     }
 
     @GetMapping("/trends")
-    public ResponseEntity<List<Map<String, Object>>> getBidTrends(
+    public ResponseEntity<List<BidTrendDTO>> getBidTrends(
             @RequestParam(defaultValue = "month") String timeframe) {
-        return ResponseEntity.ok(bidAnalyticsService.getBidTrends(timeframe));
+        ZoneId zone = userTimeZoneService.currentZone();
+        return ResponseEntity.ok(analyticsCache.get("trends", null,
+                () -> bidAnalyticsService.getBidTrends(timeframe, zone), timeframe, zone.getId()));
     }
 
     @GetMapping("/projects/timelines")
-    public ResponseEntity<Map<String, Object>> getProjectTimelines(
+    public ResponseEntity<ProjectTimelinesDTO> getProjectTimelines(
             @RequestParam(required = false) String type) {
-        return ResponseEntity.ok(bidAnalyticsService.getProjectTimelines(type));
+        return ResponseEntity.ok(analyticsCache.get("project-timelines", null,
+                () -> bidAnalyticsService.getProjectTimelines(type), type));
     }
 
     @GetMapping("/client-preferences")
-    public ResponseEntity<Map<String, Object>> getClientPreferences() {
-        return ResponseEntity.ok(bidAnalyticsService.getClientPreferences());
+    public ResponseEntity<ClientPreferencesDTO> getClientPreferences() {
+        return ResponseEntity.ok(analyticsCache.get("client-preferences", null,
+                bidAnalyticsService::getClientPreferences));
     }
 
     @GetMapping("/tender-activity")
-    public ResponseEntity<Map<String, Object>> getTenderActivity() {
-        return ResponseEntity.ok(bidAnalyticsService.getTenderActivity());
+    public ResponseEntity<TenderActivityDTO> getTenderActivity() {
+        ZoneId zone = userTimeZoneService.currentZone();
+        return ResponseEntity.ok(analyticsCache.get("tender-activity", null,
+                () -> bidAnalyticsService.getTenderActivity(zone), zone.getId()));
     }
 
     @GetMapping("/analysis/{companyId}")
-    public ResponseEntity<Map<String, Object>> getBidAnalytics(
+    public ResponseEntity<BidAnalyticsDTO> getBidAnalytics(
             @PathVariable String companyId) {
-        return ResponseEntity.ok(bidAnalyticsService.getBidAnalytics(companyId));
+        return ResponseEntity.ok(analyticsCache.get("analysis", companyId,
+                () -> bidAnalyticsService.getBidAnalytics(companyId)));
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(analyticsCache.getStats());
+    }
+
+    private AnalyticsEngine resolveEngine(String requested, String configured) {
+        try {
+            return AnalyticsEngine.fromName(requested != null ? requested : configured);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private Granularity resolveGranularity(String granularity) {
+        try {
+            return Granularity.fromName(granularity);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * The rollup only holds server-zone calendar months, other granularities
+     * are answered by the JVM engine
+     */
+    private AnalyticsEngine rollupFallback(AnalyticsEngine engine, Granularity granularity) {
+        return engine == AnalyticsEngine.ROLLUP && granularity != Granularity.MONTH ? AnalyticsEngine.JVM : engine;
+    }
+
+    /**
+     * Run an analytics computation and report the engine and its duration in a
+     * Server-Timing header so the engines can be compared from the browser.
+     */
+    private <T> ResponseEntity<T> timed(AnalyticsEngine engine, Supplier<T> computation) {
+        long start = System.nanoTime();
+        T body = computation.get();
+        double durationMs = (System.nanoTime() - start) / 1_000_000.0;
+        return ResponseEntity.ok()
+                .header("Server-Timing", String.format(Locale.ROOT, "analytics;desc=\"%s\";dur=%.1f",
+                        engine.name().toLowerCase(Locale.ROOT), durationMs))
+                .body(body);
     }
 }
\ No newline at end of file
@@ -1,19 +1,43 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.*;
+import com.example.backend.model.ActivityFeed;
 import com.example.backend.model.Bid;
 import com.example.backend.model.Tender;
+import com.example.backend.model.User;
 import com.example.backend.repository.BidRepository;
 import com.example.backend.repository.CompanyRepository;
 import com.example.backend.repository.TenderRepository;
+import com.example.backend.service.ActivityFeedService;
 import com.example.backend.service.BidAnalyticsService;
+import com.example.backend.service.BidJoinService;
+import com.example.backend.service.CompanyLeaderboard;
+import com.example.backend.service.CurrentUserService;
+import com.example.backend.service.DashboardService;
+import com.example.backend.service.DashboardSnapshotService;
+import com.example.backend.service.TenderAwardService;
 import com.example.backend.service.TenderService;
+import com.example.backend.service.UserTimeZoneService;
+import com.example.backend.util.ActivityCursor;
+import com.example.backend.util.TimeBuckets;
+import com.example.backend.util.TimeBuckets.Granularity;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @CrossOrigin(maxAge = 3600)
@@ -36,411 +60,399 @@ public class DashboardController {
     @Autowired
     private CompanyRepository companyRepository;
 
-    /**
-     * Get summary statistics for client dashboard
-     * @return Map with various statistics
-     */
-    @GetMapping("/client/summary")
-    public ResponseEntity<Map<String, Object>> getClientDashboardSummary() {
-        Map<String, Object> result = new HashMap<>();
+    @Autowired
+    private BidJoinService bidJoinService;
+
+    @Autowired
+    private TenderAwardService tenderAwardService;
+
+    @Autowired
+    private UserTimeZoneService userTimeZoneService;
 
-        // Get all tenders
-        List<Tender> allTenders = tenderRepository.findAll();
+    @Autowired
+    private CurrentUserService currentUserService;
 
-        // Count total tenders
-        result.put("totalTenders", allTenders.size());
+    @Autowired
+    private DashboardService dashboardService;
 
-        // Count active tenders
-        long activeTenders = allTenders.stream()
-                .filter(tender -> "active".equals(tender.getStatus()))
-                .count();
-        result.put("activeTenders", activeTenders);
+    @Autowired
+    private DashboardSnapshotService dashboardSnapshotService;
 
-        // Count completed tenders
-        long completedTenders = allTenders.stream()
-                .filter(tender -> "ended".equals(tender.getStatus()))
-                .count();
-        result.put("completedTenders", completedTenders);
+    @Autowired
+    private ActivityFeedService activityFeedService;
 
-        // Calculate total budget
-        double totalBudget = allTenders.stream()
-                .mapToDouble(Tender::getBudget)
-                .sum();
-        result.put("totalBudget", totalBudget);
+    // Response header carrying the cursor of the next page of recent activity
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
-        // Get all bids
-        List<Bid> allBids = bidRepository.findAll();
+    // Response header carrying the version of the served dashboard snapshot
+    private static final String SNAPSHOT_VERSION_HEADER = "X-Snapshot-Version";
 
-        // Count total bids
-        result.put("totalBids", allBids.size());
+    // Newest first; the ID breaks ties between items created in the same millisecond
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
 
-        // Count accepted bids
-        long acceptedBids = allBids.stream()
-                .filter(bid -> "accepted".equals(bid.getStatus()))
-                .count();
-        result.put("acceptedBids", acceptedBids);
+    // Largest page of the recent-activity endpoints
+    private static final int MAX_RECENT_ACTIVITY = 100;
 
-        // Count total companies
-        result.put("totalCompanies", companyRepository.count());
+    /**
+     * Get summary statistics for client dashboard
+     * @return The statistics
+     */
+    @GetMapping("/client/summary")
+    public ResponseEntity<DashboardSummaryDTO> getClientDashboardSummary() {
+        return ResponseEntity.ok(dashboardService.getSummary());
+    }
 
-        return ResponseEntity.ok(result);
+    /**
+     * Get the precomputed client dashboard: summary, tender status, bid activity over
+     * the last 6 months in the server time zone, budget utilization and the top 5
+     * companies by success rate, as of the builtAt time in the response
+     * @return The JSON of the latest snapshot
+     */
+    @GetMapping(value = "/client/snapshot", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getClientDashboardSnapshot() {
+        DashboardSnapshotService.Snapshot snapshot = dashboardSnapshotService.getSnapshot();
+        // A request with a matching If-None-Match gets a 304 without the body
+        return ResponseEntity.ok()
+                .eTag("W/\"" + snapshot.getBuiltAt().toEpochMilli() + "-" + snapshot.getVersion() + "\"")
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(SNAPSHOT_VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                .body(snapshot.getJson());
     }
 
     /**
-     * Get recent tender activity for client dashboard
+     * Get recent tender activity for client dashboard. When the page is full the
+     * X-Next-Cursor header holds the cursor of the next page.
      * @param limit Number of recent tenders to return
+     * @param cursor Cursor from the previous page, to continue after its last tender
      * @return List of recent tenders with bid information
      */
     @GetMapping("/client/recent-activity")
-    public ResponseEntity<List<Map<String, Object>>> getRecentTenderActivity(
-            @RequestParam(defaultValue = "5") int limit) {
+    public ResponseEntity<List<RecentTenderDTO>> getRecentTenderActivity(
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(required = false) String cursor) {
+        PageRequest page = recentActivityPage(limit);
+        ActivityCursor after = decodeCursor(cursor);
+
+        // Read only the page from the (createdAt, _id) index
+        List<Tender> recentTenders = after == null
+                ? tenderRepository.findAllBy(page)
+                : tenderRepository.findCreatedBefore(after.getCreatedAt(), after.getId(), page);
+
+        return withNextCursor(recentTenders, limit, Tender::getCreatedAt, Tender::getId)
+                .body(toTenderActivity(recentTenders));
+    }
 
-        // Get all tenders
-        List<Tender> allTenders = tenderRepository.findAll();
+    /**
+     * Get summary statistics over the authenticated client's tenders and the bids on them
+     * @return The statistics
+     */
+    @GetMapping("/client/me/summary")
+    public ResponseEntity<DashboardSummaryDTO> getMyDashboardSummary() {
+        String clientId = currentClientId();
+        List<Tender> tenders = tenderRepository.findByClientId(clientId);
+        List<Bid> bids = bidRepository.findByTenderIdIn(tenders.stream().map(Tender::getId).collect(Collectors.toList()));
+
+        return ResponseEntity.ok(new DashboardSummaryDTO(
+                tenders.size(),
+                tenders.stream().filter(tender -> "active".equals(tender.getStatus())).count(),
+                tenders.stream().filter(tender -> "ended".equals(tender.getStatus())).count(),
+                tenders.stream().mapToDouble(Tender::getBudget).sum(),
+                bids.size(),
+                bids.stream().filter(bid -> "accepted".equals(bid.getStatus())).count(),
+                // Companies that bid on the client's tenders
+                bids.stream().map(Bid::getCompanyId).filter(Objects::nonNull).distinct().count()));
+    }
 
-        // Sort by creation date (newest first)
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
-        allTenders.sort((t1, t2) -> {
-            LocalDateTime date1 = LocalDateTime.parse(t1.getCreatedAt(), formatter);
-            LocalDateTime date2 = LocalDateTime.parse(t2.getCreatedAt(), formatter);
-            return date2.compareTo(date1);
-        });
+    /**
+     * Get the authenticated client's most recent tenders
+     * @param limit Number of recent tenders to return
+     * @return List of recent tenders with bid information
+     */
+    @GetMapping("/client/me/recent-activity")
+    public ResponseEntity<List<RecentTenderDTO>> getMyRecentTenderActivity(
+            @RequestParam(defaultValue = "5") int limit) {
+        List<Tender> recentTenders = tenderRepository.findByClientId(currentClientId(), recentActivityPage(limit));
+        return ResponseEntity.ok(toTenderActivity(recentTenders));
+    }
 
-        // Take only the requested number of tenders
-        List<Tender> recentTenders = allTenders.stream()
-                .limit(limit)
-                .collect(Collectors.toList());
+    /**
+     * Get the authenticated client's activity feed: their tenders created and
+     * closed and the bids placed on them, newest first
+     * @param limit Number of entries to return
+     * @return The feed entries
+     */
+    @GetMapping("/client/me/activity-feed")
+    public ResponseEntity<List<ActivityFeed.Entry>> getMyActivityFeed(
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.ok(new ArrayList<>());
+        }
+        return ResponseEntity.ok(activityFeedService.getFeed(ActivityFeedService.clientFeed(currentClientId()), limit));
+    }
 
+    private List<RecentTenderDTO> toTenderActivity(List<Tender> recentTenders) {
         // Transform to response format
-        List<Map<String, Object>> result = new ArrayList<>();
+        List<RecentTenderDTO> result = new ArrayList<>();
         for (Tender tender : recentTenders) {
-            Map<String, Object> tenderData = new HashMap<>();
-            tenderData.put("id", tender.getId());
-            tenderData.put("title", tender.getTitle());
-            tenderData.put("status", tender.getStatus());
-            tenderData.put("budget", tender.getBudget());
-            tenderData.put("bidsCount", tender.getBidsCount());
-            tenderData.put("createdAt", tender.getCreatedAt());
-            tenderData.put("deadline", tender.getDeadline());
-
-            result.add(tenderData);
+            result.add(new RecentTenderDTO(tender.getId(), tender.getTitle(), tender.getStatus(), tender.getBudget(),
+                    tender.getBidsCount(), tender.getCreatedAt(), tender.getDeadline()));
         }
 
-        return ResponseEntity.ok(result);
+        return result;
     }
 
     /**
      * Get tender status distribution for client dashboard
-     * @return Map with status labels and counts
+     * @return Status labels and counts
      */
     @GetMapping("/client/tender-status")
-    public ResponseEntity<Map<String, Object>> getTenderStatusDistribution() {
-        // Get all tenders
-        List<Tender> allTenders = tenderRepository.findAll();
-
-        // Count tenders by status
-        long newCount = allTenders.stream()
-                .filter(tender -> "new".equals(tender.getStatus()))
-                .count();
-
-        long activeCount = allTenders.stream()
-                .filter(tender -> "active".equals(tender.getStatus()))
-                .count();
-
-        long endedCount = allTenders.stream()
-                .filter(tender -> "ended".equals(tender.getStatus()))
-                .count();
-
-        List<String> labels = Arrays.asList("New", "Active", "Ended");
-        List<Long> data = Arrays.asList(newCount, activeCount, endedCount);
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("labels", labels);
-        result.put("data", data);
+    public ResponseEntity<LabeledCountsDTO> getTenderStatusDistribution() {
+        return ResponseEntity.ok(dashboardService.getTenderStatusDistribution());
+    }
 
-        return ResponseEntity.ok(result);
+    /**
+     * Get the status distribution of the authenticated client's tenders
+     * @return Status labels and counts
+     */
+    @GetMapping("/client/me/tender-status")
+    public ResponseEntity<LabeledCountsDTO> getMyTenderStatusDistribution() {
+        // Counted on the (clientId, status, createdAt) index without loading documents
+        String clientId = currentClientId();
+        return ResponseEntity.ok(dashboardService.statusDistribution(
+                tenderRepository.countByClientIdAndStatus(clientId, "new"),
+                tenderRepository.countByClientIdAndStatus(clientId, "active"),
+                tenderRepository.countByClientIdAndStatus(clientId, "ended")));
     }
 
     /**
      * Get bid activity by month for client dashboard
      * @param months Number of months to look back
-     * @return Map with month labels and bid counts
+     * @return Month labels, year-qualified month keys and bid counts
      */
     @GetMapping("/client/bid-activity")
-    public ResponseEntity<Map<String, Object>> getBidActivityByMonth(
+    public ResponseEntity<CountSeriesDTO> getBidActivityByMonth(
             @RequestParam(defaultValue = "6") int months) {
+        // Calendar months in the user's time zone
+        return ResponseEntity.ok(dashboardService.getBidActivityByMonth(months, userTimeZoneService.currentZone()));
+    }
 
-        // Get all bids
-        List<Bid> allBids = bidRepository.findAll();
-
-        // Get current date and calculate start date based on months parameter
-        LocalDateTime endDate = LocalDateTime.now();
-        LocalDateTime startDate = endDate.minusMonths(months);
-
-        // Filter bids by date range
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
-        List<Bid> filteredBids = allBids.stream()
-                .filter(bid -> {
-                    LocalDateTime bidDate = LocalDateTime.parse(bid.getCreatedAt(), formatter);
-                    return !bidDate.isBefore(startDate) && !bidDate.isAfter(endDate);
-                })
-                .collect(Collectors.toList());
-
-        // Group bids by month
-        Map<String, List<Bid>> bidsByMonth = new LinkedHashMap<>();
-
-        // Initialize months
-        for (int i = 0; i < months; i++) {
-            LocalDateTime date = endDate.minusMonths(months - 1 - i);
-            String monthLabel = date.format(DateTimeFormatter.ofPattern("MMM"));
-            bidsByMonth.put(monthLabel, new ArrayList<>());
-        }
-
-        // Populate bids by month
-        for (Bid bid : filteredBids) {
-            LocalDateTime bidDate = LocalDateTime.parse(bid.getCreatedAt(), formatter);
-            String monthLabel = bidDate.format(DateTimeFormatter.ofPattern("MMM"));
-            if (bidsByMonth.containsKey(monthLabel)) {
-                bidsByMonth.get(monthLabel).add(bid);
-            }
-        }
-
-        // Count bids for each month
-        List<String> labels = new ArrayList<>(bidsByMonth.keySet());
-        List<Integer> bidCounts = new ArrayList<>();
-
-        for (String month : labels) {
-            bidCounts.add(bidsByMonth.get(month).size());
-        }
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("labels", labels);
-        result.put("data", bidCounts);
-
-        return ResponseEntity.ok(result);
+    /**
+     * Get the monthly bid activity on the authenticated client's tenders
+     * @param months Number of months to look back
+     * @return Month labels, year-qualified month keys and bid counts
+     */
+    @GetMapping("/client/me/bid-activity")
+    public ResponseEntity<CountSeriesDTO> getMyBidActivityByMonth(
+            @RequestParam(defaultValue = "6") int months) {
+        String clientId = currentClientId();
+        ZoneId zone = userTimeZoneService.currentZone();
+        TimeBuckets buckets = TimeBuckets.last(months, Granularity.MONTH, ZonedDateTime.now(zone));
+
+        // Bids on the client's tenders in the date range, using the (tenderId, createdAt) index
+        List<Bid> bids = bidRepository.findByTenderIdInAndCreatedAtBetween(clientTenderIds(clientId),
+                Range.rightOpen(buckets.getFrom(), buckets.getTo()));
+        return ResponseEntity.ok(new CountSeriesDTO(buckets.labels(), buckets.keys(), buckets.count(bids, Bid::getCreatedAt)));
     }
 
     /**
      * Get budget utilization statistics for client dashboard
-     * @return Map with budget statistics
+     * @return The budget statistics
      */
     @GetMapping("/client/budget-utilization")
-    public ResponseEntity<Map<String, Object>> getBudgetUtilization() {
-        // Get all tenders
-        List<Tender> allTenders = tenderRepository.findAll();
-
-        // Calculate total budget
-        double totalBudget = allTenders.stream()
-                .mapToDouble(Tender::getBudget)
-                .sum();
-
-        // Calculate utilized budget (based on accepted bids)
-        double utilizedBudget = 0;
-        for (Tender tender : allTenders) {
-            if (tender.getBidIds() != null) {
-                List<Bid> bids = bidRepository.findAllById(tender.getBidIds());
-                for (Bid bid : bids) {
-                    if ("accepted".equals(bid.getStatus())) {
-                        utilizedBudget += bid.getAmount();
-                        break; // Only count one accepted bid per tender
-                    }
-                }
-            }
-        }
-
-        // Calculate remaining budget
-        double remainingBudget = totalBudget - utilizedBudget;
-
-        // Calculate utilization percentage
-        double utilizationPercentage = totalBudget > 0 ? (utilizedBudget / totalBudget) * 100 : 0;
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("totalBudget", totalBudget);
-        result.put("utilizedBudget", utilizedBudget);
-        result.put("remainingBudget", remainingBudget);
-        result.put("utilizationPercentage", utilizationPercentage);
+    public ResponseEntity<BudgetUtilizationDTO> getBudgetUtilization() {
+        return ResponseEntity.ok(dashboardService.getBudgetUtilization());
+    }
 
-        return ResponseEntity.ok(result);
+    /**
+     * Get budget utilization over the authenticated client's tenders
+     * @return The budget statistics
+     */
+    @GetMapping("/client/me/budget-utilization")
+    public ResponseEntity<BudgetUtilizationDTO> getMyBudgetUtilization() {
+        return ResponseEntity.ok(dashboardService.budgetUtilization(tenderAwardService.getBudgetTotals(currentClientId())));
     }
 
     /**
      * Get company performance metrics for client dashboard
      * @param limit Number of top companies to return
+     * @param sortBy Metric to rank by: successRate, awardedValue, totalBids, acceptedBids or totalBidValue
+     * @param minBids Minimum number of bids a company needs to be ranked
      * @return List of top performing companies
      */
     @GetMapping("/client/top-companies")
-    public ResponseEntity<List<Map<String, Object>>> getTopPerformingCompanies(
-            @RequestParam(defaultValue = "5") int limit) {
-
-        // Get all bids
-        List<Bid> allBids = bidRepository.findAll();
-
-        // Group bids by company
-        Map<String, List<Bid>> bidsByCompany = allBids.stream()
-                .collect(Collectors.groupingBy(Bid::getCompanyId));
-
-        // Calculate performance metrics for each company
-        List<Map<String, Object>> companyMetrics = new ArrayList<>();
-
-        for (Map.Entry<String, List<Bid>> entry : bidsByCompany.entrySet()) {
-            String companyId = entry.getKey();
-            List<Bid> companyBids = entry.getValue();
-
-            // Skip if no company name (shouldn't happen in real data)
-            if (companyBids.isEmpty() || companyBids.get(0).getCompanyName() == null) {
-                continue;
-            }
-
-            String companyName = companyBids.get(0).getCompanyName();
-
-            // Calculate success rate
-            long acceptedBids = companyBids.stream()
-                    .filter(bid -> "accepted".equals(bid.getStatus()))
-                    .count();
-            double successRate = companyBids.isEmpty() ? 0 : (double) acceptedBids / companyBids.size() * 100;
-
-            // Calculate total bid value
-            double totalBidValue = companyBids.stream()
-                    .mapToDouble(Bid::getAmount)
-                    .sum();
-
-            Map<String, Object> metrics = new HashMap<>();
-            metrics.put("companyId", companyId);
-            metrics.put("companyName", companyName);
-            metrics.put("totalBids", companyBids.size());
-            metrics.put("acceptedBids", acceptedBids);
-            metrics.put("successRate", successRate);
-            metrics.put("totalBidValue", totalBidValue);
-
-            companyMetrics.add(metrics);
+    public ResponseEntity<List<CompanyRankingDTO>> getTopPerformingCompanies(
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(defaultValue = "successRate") String sortBy,
+            @RequestParam(defaultValue = "1") long minBids) {
+        CompanyLeaderboard.Metric metric;
+        try {
+            metric = CompanyLeaderboard.Metric.fromName(sortBy);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
 
-        // Sort by success rate (highest first)
-        companyMetrics.sort((c1, c2) -> {
-            Double rate1 = (Double) c1.get("successRate");
-            Double rate2 = (Double) c2.get("successRate");
-            return rate2.compareTo(rate1);
-        });
-
-        // Take only the requested number of companies
-        List<Map<String, Object>> topCompanies = companyMetrics.stream()
-                .limit(limit)
-                .collect(Collectors.toList());
+        return ResponseEntity.ok(dashboardService.getTopCompanies(metric, limit, minBids));
+    }
 
-        return ResponseEntity.ok(topCompanies);
+    /**
+     * Get the best performing companies among the bidders on the authenticated client's tenders
+     * @param limit Number of top companies to return
+     * @return List of top performing companies
+     */
+    @GetMapping("/client/me/top-companies")
+    public ResponseEntity<List<CompanyRankingDTO>> getMyTopPerformingCompanies(
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(dashboardService.topCompanies(bidRepository.findByTenderIdIn(clientTenderIds(currentClientId())), limit));
     }
 
     @GetMapping("/company/{companyId}/upcoming-deadlines")
-    public ResponseEntity<List<Map<String, Object>>> getCompanyUpcomingDeadlines(
+    public ResponseEntity<List<UpcomingDeadlineDTO>> getCompanyUpcomingDeadlines(
             @PathVariable String companyId,
             @RequestParam(defaultValue = "5") int limit) {
 
-        // Get all bids for the company
-        List<Bid> companyBids = bidRepository.findByCompanyId(companyId);
+        if (limit < 1) {
+            return ResponseEntity.ok(new ArrayList<>());
+        }
 
         // Get current date
-        LocalDateTime now = LocalDateTime.now();
+        Instant now = Instant.now();
+
+        // Range read of the next accepted (active) bid deadlines on the (companyId, status, proposedDeadline) index
+        List<Bid> upcomingBids = bidRepository.findByCompanyIdAndStatusAndProposedDeadlineAfter(companyId, "accepted", now,
+                PageRequest.of(0, limit, Sort.by(Sort.Direction.ASC, "proposedDeadline")));
+
+        // Bids saved before the tender details were copied onto them still need their tender
+        Map<String, Tender> tenders = bidJoinService.tendersFor(upcomingBids.stream()
+                .filter(bid -> bid.getTenderCreatedAt() == null)
+                .collect(Collectors.toList()));
 
         // Transform bids to deadline information
-        List<Map<String, Object>> deadlines = new ArrayList<>();
-
-        for (Bid bid : companyBids) {
-            // Only include active bids
-            if ("accepted".equals(bid.getStatus())) {
-                // Get tender details
-                Optional<Tender> tender = tenderRepository.findById(bid.getTenderId());
-                if (tender.isPresent()) {
-                    Tender tenderData = tender.get();
-
-                    // Parse the proposed deadline
-                    LocalDateTime deadline = LocalDateTime.parse(bid.getProposedDeadline(), DateTimeFormatter.ISO_DATE_TIME);
-
-                    // Only include future deadlines
-                    if (deadline.isAfter(now)) {
-                        Map<String, Object> deadlineInfo = new HashMap<>();
-                        deadlineInfo.put("id", bid.getId());
-                        deadlineInfo.put("project", tenderData.getTitle());
-                        deadlineInfo.put("deadline", bid.getProposedDeadline());
-
-                        // Calculate days left
-                        long daysLeft = java.time.Duration.between(now, deadline).toDays();
-                        deadlineInfo.put("daysLeft", daysLeft);
-
-                        // Calculate completion percentage (simplified)
-                        LocalDateTime startDate = LocalDateTime.parse(tenderData.getCreatedAt(), DateTimeFormatter.ISO_DATE_TIME);
-                        long totalDays = java.time.Duration.between(startDate, deadline).toDays();
-                        long elapsedDays = java.time.Duration.between(startDate, now).toDays();
-                        int completion = (int) ((elapsedDays * 100) / totalDays);
-                        deadlineInfo.put("completion", Math.min(100, Math.max(0, completion)));
-
-                        deadlines.add(deadlineInfo);
-                    }
-                }
+        List<UpcomingDeadlineDTO> deadlines = new ArrayList<>();
+
+        for (Bid bid : upcomingBids) {
+            Tender tenderData = tenders.get(bid.getTenderId());
+            String project = bid.getTenderCreatedAt() != null ? bid.getTenderTitle()
+                    : tenderData != null ? tenderData.getTitle() : null;
+            Instant startDate = bid.getTenderCreatedAt() != null ? bid.getTenderCreatedAt()
+                    : tenderData != null ? tenderData.getCreatedAt() : null;
+            if (startDate == null) {
+                continue;
             }
-        }
+            Instant deadline = bid.getProposedDeadline();
 
-        // Sort by deadline (closest first)
-        deadlines.sort((a, b) -> {
-            LocalDateTime deadlineA = LocalDateTime.parse((String) a.get("deadline"), DateTimeFormatter.ISO_DATE_TIME);
-            LocalDateTime deadlineB = LocalDateTime.parse((String) b.get("deadline"), DateTimeFormatter.ISO_DATE_TIME);
-            return deadlineA.compareTo(deadlineB);
-        });
+            // Calculate days left
+            long daysLeft = Duration.between(now, deadline).toDays();
 
-        // Limit the number of results
-        List<Map<String, Object>> limitedDeadlines = deadlines.stream()
-                .limit(limit)
-                .collect(Collectors.toList());
+            // Calculate completion percentage (simplified)
+            long totalDays = Duration.between(startDate, deadline).toDays();
+            long elapsedDays = Duration.between(startDate, now).toDays();
+            int completion = totalDays > 0 ? (int) ((elapsedDays * 100) / totalDays) : 100;
+
+            deadlines.add(new UpcomingDeadlineDTO(bid.getId(), project, deadline, daysLeft,
+                    Math.min(100, Math.max(0, completion))));
+        }
 
-        return ResponseEntity.ok(limitedDeadlines);
+        return ResponseEntity.ok(deadlines);
     }
 
     /**
-     * Get recent activity for company dashboard
+     * Get recent activity for company dashboard. When the page is full the
+     * X-Next-Cursor header holds the cursor of the next page.
      * @param companyId ID of the company
      * @param limit Number of recent activities to return
+     * @param cursor Cursor from the previous page, to continue after its last bid
      * @return List of recent activities
      */
     @GetMapping("/company/{companyId}/recent-activity")
-    public ResponseEntity<List<Map<String, Object>>> getCompanyRecentActivity(
+    public ResponseEntity<List<RecentBidDTO>> getCompanyRecentActivity(
             @PathVariable String companyId,
-            @RequestParam(defaultValue = "5") int limit) {
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(required = false) String cursor) {
+        PageRequest page = recentActivityPage(limit);
+        ActivityCursor after = decodeCursor(cursor);
 
-        // Get all bids for the company
-        List<Bid> companyBids = bidRepository.findByCompanyId(companyId);
+        // Read only the page from the (companyId, createdAt, _id) index
+        List<Bid> recentBids = after == null
+                ? bidRepository.findByCompanyId(companyId, page)
+                : bidRepository.findByCompanyIdCreatedBefore(companyId, after.getCreatedAt(), after.getId(), page);
 
-        // Sort by creation date (newest first)
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
-        companyBids.sort((b1, b2) -> {
-            LocalDateTime date1 = LocalDateTime.parse(b1.getCreatedAt(), formatter);
-            LocalDateTime date2 = LocalDateTime.parse(b2.getCreatedAt(), formatter);
-            return date2.compareTo(date1);
-        });
-
-        // Take only the requested number of bids
-        List<Bid> recentBids = companyBids.stream()
-                .limit(limit)
-                .collect(Collectors.toList());
+        // Get the tenders of the page with one query; the title is copied onto the bids, the client is not
+        Map<String, Tender> tenders = bidJoinService.tendersFor(recentBids);
 
         // Transform to response format
-        List<Map<String, Object>> result = new ArrayList<>();
+        List<RecentBidDTO> result = new ArrayList<>();
         for (Bid bid : recentBids) {
-            Map<String, Object> activityData = new HashMap<>();
-            activityData.put("id", bid.getId());
-            activityData.put("type", "bid");
-            activityData.put("status", bid.getStatus());
-            activityData.put("amount", bid.getAmount());
-            activityData.put("createdAt", bid.getCreatedAt());
-
-            // Get tender details
-            Tender tender = tenderRepository.findById(bid.getTenderId()).orElse(null);
-            if (tender != null) {
-                activityData.put("tenderTitle", tender.getTitle());
-                activityData.put("clientId", tender.getClientId());
-            }
+            Tender tender = tenders.get(bid.getTenderId());
+            String tenderTitle = bid.getTenderTitle() != null ? bid.getTenderTitle()
+                    : tender != null ? tender.getTitle() : null;
 
-            result.add(activityData);
+            result.add(new RecentBidDTO(bid.getId(), "bid", bid.getStatus(), bid.getAmount(), bid.getCreatedAt(),
+                    tenderTitle,
+                    tender != null ? tender.getClientId() : null));
         }
 
-        return ResponseEntity.ok(result);
+        return withNextCursor(recentBids, limit, Bid::getCreatedAt, Bid::getId).body(result);
+    }
+
+    /**
+     * Get a company's activity feed: its bids, the outcome of tenders it bid on
+     * and its reviews, newest first
+     * @param companyId ID of the company
+     * @param limit Number of entries to return
+     * @return The feed entries
+     */
+    @GetMapping("/company/{companyId}/activity-feed")
+    public ResponseEntity<List<ActivityFeed.Entry>> getCompanyActivityFeed(
+            @PathVariable String companyId,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.ok(new ArrayList<>());
+        }
+        return ResponseEntity.ok(activityFeedService.getFeed(ActivityFeedService.companyFeed(companyId), limit));
+    }
+
+    // The ID of the authenticated user, which is the clientId of their tenders
+    private String currentClientId() {
+        return currentUserService.currentUser()
+                .map(User::getId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not authenticated"));
+    }
+
+    // Bids carry no clientId, so they are scoped through the IDs of the client's tenders
+    private List<String> clientTenderIds(String clientId) {
+        return tenderRepository.findIdsByClientId(clientId).stream()
+                .map(Tender::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static PageRequest recentActivityPage(int limit) {
+        if (limit < 1 || limit > MAX_RECENT_ACTIVITY) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_RECENT_ACTIVITY);
+        }
+        return PageRequest.of(0, limit, NEWEST_FIRST);
+    }
+
+    private static ActivityCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return ActivityCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // A full page may have a successor, so hand out the position of its last item;
+    // items without a creation time sort last and end the pagination
+    private static <T> ResponseEntity.BodyBuilder withNextCursor(List<T> page, int limit,
+            Function<T, Instant> createdAt, Function<T, String> id) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        T last = page.isEmpty() ? null : page.get(page.size() - 1);
+        if (page.size() == limit && createdAt.apply(last) != null) {
+            response.header(NEXT_CURSOR_HEADER, ActivityCursor.of(createdAt.apply(last), id.apply(last)).encode());
+        }
+        return response;
     }
-}
\ No newline at end of file
+}
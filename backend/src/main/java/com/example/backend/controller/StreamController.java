@@ -0,0 +1,39 @@
+package com.example.backend.controller;
+
+import com.example.backend.service.TenderStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@CrossOrigin(maxAge = 3600)
+@RestController
+@RequestMapping("/api/stream")
+public class StreamController {
+
+    @Autowired
+    private TenderStreamService tenderStreamService;
+
+    /**
+     * Stream tender updates as server-sent events. Events are named bid-added,
+     * tender-updated or bid-status-changed and carry the tender's bid count,
+     * lowest bid and status as JSON.
+     * @param clientId Only updates of tenders of this client
+     * @param companyId Only updates involving bids of this company
+     * @param tenderId Only updates of this tender
+     * @return The event stream
+     */
+    @GetMapping(value = "/tenders", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTenders(
+            @RequestParam(required = false) String clientId,
+            @RequestParam(required = false) String companyId,
+            @RequestParam(required = false) String tenderId) {
+        try {
+            return tenderStreamService.subscribe(clientId, companyId, tenderId);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+}
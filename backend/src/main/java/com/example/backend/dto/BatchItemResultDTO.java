@@ -0,0 +1,24 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The outcome of one record of a batch import
+ * @param index Position of the record in the request array
+ * @param id ID of the created document, only if it was created
+ * @param status "created" or "failed"
+ * @param error Why the record was not created, only if it failed
+ */
+public record BatchItemResultDTO(int index,
+                                 @JsonInclude(JsonInclude.Include.NON_NULL) String id,
+                                 String status,
+                                 @JsonInclude(JsonInclude.Include.NON_NULL) String error) {
+
+    public static BatchItemResultDTO created(int index, String id) {
+        return new BatchItemResultDTO(index, id, "created", null);
+    }
+
+    public static BatchItemResultDTO failed(int index, String error) {
+        return new BatchItemResultDTO(index, null, "failed", error);
+    }
+}
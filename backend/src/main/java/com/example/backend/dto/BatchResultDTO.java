@@ -0,0 +1,12 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * The outcome of a batch import
+ * @param created Number of records created
+ * @param failed Number of records not created
+ * @param items The outcome of every record, in request order
+ */
+public record BatchResultDTO(int created, int failed, List<BatchItemResultDTO> items) {
+}
@@ -0,0 +1,25 @@
+package com.example.backend.dto;
+
+import java.util.Map;
+
+/**
+ * Bid statistics of a company per project category
+ * @param categories Statistics per category
+ * @param summary Statistics over all categories
+ */
+public record BidAnalyticsDTO(Map<String, CategoryDTO> categories, SummaryDTO summary) {
+
+    /**
+     * @param count Number of tenders bid on
+     * @param totalBids Number of bids
+     * @param minBid Lowest bid amount
+     * @param maxBid Highest bid amount
+     * @param avgBid Average bid amount
+     */
+    public record CategoryDTO(int count, int totalBids, double minBid, double maxBid, double avgBid) {
+    }
+
+    public record SummaryDTO(int totalProjects, int totalBids, double overallMinBid,
+                             double overallMaxBid, double overallAvgBid) {
+    }
+}
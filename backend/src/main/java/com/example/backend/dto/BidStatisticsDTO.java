@@ -0,0 +1,17 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Overall bid statistics of a company. The changes compare the current period
+ * with the previous one and are left out when either period has no bids.
+ */
+public record BidStatisticsDTO(
+        long activeBids,
+        long pendingBids,
+        int totalBids,
+        double successRate,
+        double averageBid,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Double activeBidsChange,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Double pendingBidsChange) {
+}
@@ -0,0 +1,11 @@
+package com.example.backend.dto;
+
+/**
+ * The bid count of a category in the current and the previous period
+ * @param category The company type, e.g. "Commercial"
+ * @param currentMonthBids Bids in the current period
+ * @param previousMonthBids Bids in the previous period
+ * @param percentageChange Change from the previous period, rounded to one decimal
+ */
+public record BidTrendDTO(String category, long currentMonthBids, long previousMonthBids, double percentageChange) {
+}
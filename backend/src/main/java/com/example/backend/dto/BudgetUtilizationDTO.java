@@ -0,0 +1,12 @@
+package com.example.backend.dto;
+
+/**
+ * Budget utilization of the client dashboard
+ * @param totalBudget Sum of the tender budgets
+ * @param utilizedBudget Sum of the awarded amounts
+ * @param remainingBudget Total minus utilized budget
+ * @param utilizationPercentage Utilized budget as a percentage of the total
+ */
+public record BudgetUtilizationDTO(double totalBudget, double utilizedBudget, double remainingBudget,
+                                   double utilizationPercentage) {
+}
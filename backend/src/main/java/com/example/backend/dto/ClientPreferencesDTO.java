@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * Share of the awarded tenders per category of the winning company
+ * @param preferenceData One entry per category
+ */
+public record ClientPreferencesDTO(List<PreferenceDTO> preferenceData) {
+
+    /**
+     * @param name The category
+     * @param value Share of the awarded tenders, as a rounded percentage
+     * @param count Number of awarded tenders
+     * @param trend Change against the tenders created before three months ago, e.g. "+12%"
+     */
+    public record PreferenceDTO(String name, long value, int count, String trend) {
+    }
+}
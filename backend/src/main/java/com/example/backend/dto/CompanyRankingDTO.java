@@ -0,0 +1,18 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A company in the top performing companies of the client dashboard
+ * @param companyId The company ID
+ * @param companyName The company name
+ * @param totalBids Number of bids
+ * @param acceptedBids Number of accepted bids
+ * @param successRate Share of the bids that were accepted, as a percentage
+ * @param totalBidValue Sum of the bid amounts
+ * @param awardedValue Sum of the accepted bid amounts, only in the platform-wide ranking
+ */
+public record CompanyRankingDTO(String companyId, String companyName, long totalBids, long acceptedBids,
+                                double successRate, double totalBidValue,
+                                @JsonInclude(JsonInclude.Include.NON_NULL) Double awardedValue) {
+}
@@ -0,0 +1,12 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * A count per time bucket, e.g. the number of bids per month
+ * @param labels The bucket labels, e.g. "Jan"
+ * @param buckets The year-qualified bucket keys, e.g. "2025-01"
+ * @param data The count of each bucket
+ */
+public record CountSeriesDTO(List<String> labels, List<String> buckets, long[] data) {
+}
@@ -0,0 +1,15 @@
+package com.example.backend.dto;
+
+/**
+ * Summary statistics of the client dashboard
+ * @param totalTenders Number of tenders
+ * @param activeTenders Number of active tenders
+ * @param completedTenders Number of ended tenders
+ * @param totalBudget Sum of the tender budgets
+ * @param totalBids Number of bids
+ * @param acceptedBids Number of accepted bids
+ * @param totalCompanies Number of companies
+ */
+public record DashboardSummaryDTO(long totalTenders, long activeTenders, long completedTenders, double totalBudget,
+                                  long totalBids, long acceptedBids, long totalCompanies) {
+}
@@ -0,0 +1,11 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * Counts per label, e.g. the number of bids per status
+ * @param labels The labels, e.g. "Won", "Lost" and "Pending"
+ * @param data The count of each label
+ */
+public record LabeledCountsDTO(List<String> labels, long[] data) {
+}
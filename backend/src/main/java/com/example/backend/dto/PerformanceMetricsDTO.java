@@ -0,0 +1,12 @@
+package com.example.backend.dto;
+
+/**
+ * Performance metrics of a company, rounded to one decimal
+ * @param averageResponseTime Average days between tender creation and bid submission
+ * @param winRateByValue Share of the bid value that was accepted, as a percentage
+ * @param competitiveIndex Score out of 10 over win rate, pricing and response time
+ * @param averageMarkup Average bid amount above the tender budget, as a percentage
+ */
+public record PerformanceMetricsDTO(double averageResponseTime, double winRateByValue,
+                                    double competitiveIndex, double averageMarkup) {
+}
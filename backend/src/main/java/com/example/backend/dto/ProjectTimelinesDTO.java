@@ -0,0 +1,31 @@
+package com.example.backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timelines of the awarded tenders (projects) per category of the winning company
+ * @param categories Averages per category
+ * @param projectsByCategory The projects per category
+ */
+public record ProjectTimelinesDTO(Map<String, CategoryDTO> categories,
+                                  Map<String, List<ProjectDTO>> projectsByCategory) {
+
+    /**
+     * @param averageDuration Average days from tender creation to the awarded deadline, rounded to one decimal
+     * @param averageBudgetVariance Average awarded amount above the budget as a percentage, rounded to one decimal
+     * @param totalProjects Number of projects
+     */
+    public record CategoryDTO(double averageDuration, double averageBudgetVariance, int totalProjects) {
+    }
+
+    /**
+     * @param name The tender title
+     * @param duration Days from tender creation to the awarded deadline
+     * @param budget The tender budget
+     * @param actualCost The awarded amount
+     * @param budgetVariance Awarded amount above the budget, as a percentage
+     */
+    public record ProjectDTO(String name, long duration, double budget, Double actualCost, double budgetVariance) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * A percentage per time bucket, e.g. the bid success rate per month
+ * @param labels The bucket labels, e.g. "Jan"
+ * @param buckets The year-qualified bucket keys, e.g. "2025-01"
+ * @param data The percentage of each bucket
+ */
+public record RateSeriesDTO(List<String> labels, List<String> buckets, double[] data) {
+}
@@ -0,0 +1,14 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * A bid in the recent activity of the company dashboard. The tender fields are
+ * left out when the tender no longer exists.
+ */
+public record RecentBidDTO(String id, String type, String status, double amount, Instant createdAt,
+                           @JsonInclude(JsonInclude.Include.NON_NULL) String tenderTitle,
+                           @JsonInclude(JsonInclude.Include.NON_NULL) String clientId) {
+}
@@ -0,0 +1,10 @@
+package com.example.backend.dto;
+
+import java.time.Instant;
+
+/**
+ * A tender in the recent activity of the client dashboard
+ */
+public record RecentTenderDTO(String id, String title, String status, double budget, int bidsCount,
+                              Instant createdAt, Instant deadline) {
+}
@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * Tenders created per month
+ * @param tenderData One entry per month, oldest first
+ */
+public record TenderActivityDTO(List<MonthDTO> tenderData) {
+
+    /**
+     * @param month The month label, e.g. "Jan"
+     * @param bucket The year-qualified month key, e.g. "2025-01"
+     * @param tenders Tenders created in the month
+     * @param growth Change from the previous month, e.g. "+12%"
+     */
+    public record MonthDTO(String month, String bucket, int tenders, String growth) {
+    }
+}
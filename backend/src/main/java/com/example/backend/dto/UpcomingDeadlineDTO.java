@@ -0,0 +1,14 @@
+package com.example.backend.dto;
+
+import java.time.Instant;
+
+/**
+ * An upcoming deadline of an accepted bid on the company dashboard
+ * @param id The bid ID
+ * @param project The tender title
+ * @param deadline The proposed deadline
+ * @param daysLeft Days until the deadline
+ * @param completion Elapsed share of the time from tender creation to the deadline, as a percentage
+ */
+public record UpcomingDeadlineDTO(String id, String project, Instant deadline, long daysLeft, int completion) {
+}
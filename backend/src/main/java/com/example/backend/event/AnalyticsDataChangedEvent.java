@@ -0,0 +1,94 @@
+package com.example.backend.event;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Published after a write that can change analytics results. Listeners drop
+ * the cached results of the affected companies and all cross-company results,
+ * and bump the data versions of the written collections and of the affected
+ * companies and clients.
+ */
+public class AnalyticsDataChangedEvent {
+
+    private final Set<String> companyIds;
+    private final Set<String> clientIds;
+    private final Set<String> collections;
+
+    private AnalyticsDataChangedEvent(Set<String> companyIds, Set<String> clientIds, Set<String> collections) {
+        this.companyIds = Collections.unmodifiableSet(companyIds);
+        this.clientIds = Collections.unmodifiableSet(clientIds);
+        this.collections = Collections.unmodifiableSet(collections);
+    }
+
+    /**
+     * Event for a write affecting a single company
+     * @param companyId The company ID, may be null
+     * @return The event
+     */
+    public static AnalyticsDataChangedEvent forCompany(String companyId) {
+        return forCompanies(Collections.singleton(companyId));
+    }
+
+    /**
+     * Event for a write affecting several companies, e.g. closing a tender
+     * @param companyIds The company IDs, null entries are ignored
+     * @return The event
+     */
+    public static AnalyticsDataChangedEvent forCompanies(Collection<String> companyIds) {
+        return new AnalyticsDataChangedEvent(nonNull(companyIds), Collections.emptySet(), Collections.emptySet());
+    }
+
+    /**
+     * The same change, also affecting the tenders of a client
+     * @param clientId The client ID, may be null
+     * @return The event
+     */
+    public AnalyticsDataChangedEvent forClient(String clientId) {
+        return forClients(Collections.singleton(clientId));
+    }
+
+    /**
+     * The same change, also affecting the tenders of several clients
+     * @param clientIds The client IDs, null entries are ignored
+     * @return The event
+     */
+    public AnalyticsDataChangedEvent forClients(Collection<String> clientIds) {
+        Set<String> ids = new HashSet<>(this.clientIds);
+        ids.addAll(nonNull(clientIds));
+        return new AnalyticsDataChangedEvent(companyIds, ids, collections);
+    }
+
+    /**
+     * The same change, naming the collections that were written
+     * @param collections The collection names
+     * @return The event
+     */
+    public AnalyticsDataChangedEvent in(String... collections) {
+        Set<String> names = new HashSet<>(this.collections);
+        names.addAll(Arrays.asList(collections));
+        return new AnalyticsDataChangedEvent(companyIds, clientIds, names);
+    }
+
+    public Set<String> getCompanyIds() {
+        return companyIds;
+    }
+
+    public Set<String> getClientIds() {
+        return clientIds;
+    }
+
+    public Set<String> getCollections() {
+        return collections;
+    }
+
+    private static Set<String> nonNull(Collection<String> ids) {
+        Set<String> result = new HashSet<>(ids);
+        result.removeIf(Objects::isNull);
+        return result;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.backend.event;
+
+import com.example.backend.model.Bid;
+import com.example.backend.model.Tender;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Published after a write that changes what the live tender views show: a bid
+ * placed on a tender, a tender update or a bid status change. Carries the new
+ * bid count, lowest bid and status of the tender, and the companies involved.
+ */
+public class TenderUpdateEvent {
+
+    public static final String BID_ADDED = "bid-added";
+    public static final String TENDER_UPDATED = "tender-updated";
+    public static final String BID_STATUS_CHANGED = "bid-status-changed";
+
+    private final String type;
+    private final String tenderId;
+    private final String clientId;
+    private final Set<String> companyIds;
+    private final int bidsCount;
+    private final Double lowestBid;
+    private final String status;
+    private final String bidId;
+    private final String bidStatus;
+
+    private TenderUpdateEvent(String type, Tender tender, Collection<String> companyIds, Bid bid) {
+        Set<String> ids = new HashSet<>(companyIds);
+        ids.removeIf(Objects::isNull);
+        this.type = type;
+        this.tenderId = tender.getId();
+        this.clientId = tender.getClientId();
+        this.companyIds = Collections.unmodifiableSet(ids);
+        this.bidsCount = tender.getBidsCount();
+        this.lowestBid = tender.getLowestBid();
+        this.status = tender.getStatus();
+        this.bidId = bid != null ? bid.getId() : null;
+        this.bidStatus = bid != null ? bid.getStatus() : null;
+    }
+
+    /**
+     * Event for a bid placed on a tender
+     * @param tender The tender after the bid was added
+     * @param bid The new bid
+     * @return The event
+     */
+    public static TenderUpdateEvent bidAdded(Tender tender, Bid bid) {
+        return new TenderUpdateEvent(BID_ADDED, tender, Collections.singleton(bid.getCompanyId()), bid);
+    }
+
+    /**
+     * Event for an updated tender, e.g. closed
+     * @param tender The updated tender
+     * @param companyIds The companies that bid on the tender
+     * @return The event
+     */
+    public static TenderUpdateEvent tenderUpdated(Tender tender, Collection<String> companyIds) {
+        return new TenderUpdateEvent(TENDER_UPDATED, tender, companyIds, null);
+    }
+
+    /**
+     * Event for a bid whose status changed
+     * @param tender The tender of the bid
+     * @param bid The bid, carrying its new status
+     * @return The event
+     */
+    public static TenderUpdateEvent bidStatusChanged(Tender tender, Bid bid) {
+        return new TenderUpdateEvent(BID_STATUS_CHANGED, tender, Collections.singleton(bid.getCompanyId()), bid);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getTenderId() {
+        return tenderId;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public Set<String> getCompanyIds() {
+        return companyIds;
+    }
+
+    public int getBidsCount() {
+        return bidsCount;
+    }
+
+    public Double getLowestBid() {
+        return lowestBid;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getBidId() {
+        return bidId;
+    }
+
+    public String getBidStatus() {
+        return bidStatus;
+    }
+}
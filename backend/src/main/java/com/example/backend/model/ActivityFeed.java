@@ -0,0 +1,156 @@
+package com.example.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The recent activity of one client or company, newest first and capped to a
+ * maximum number of entries. Entries are copied onto the feed when the activity
+ * happens, so a feed is read without joins. The document ID is the owner key,
+ * e.g. "company:&lt;companyId&gt;".
+ */
+@Document(collection = "activity_feeds")
+public class ActivityFeed {
+    @Id
+    private String id;
+    private List<Entry> entries;
+    private Instant updatedAt;
+
+    public ActivityFeed() {
+        this.entries = new ArrayList<>();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * One activity. Only the fields of its type are set.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Entry {
+        private String type; // "bid-submitted", "tender-created", "tender-closed" or "review-posted"
+        private Instant createdAt;
+        private String tenderId;
+        private String tenderTitle;
+        private String bidId;
+        private String companyId;
+        private String companyName;
+        private Double amount;
+        private String status; // Bid status for bid activity, e.g. "accepted" when a tender closed
+        private Double rating;
+
+        public Entry() {
+        }
+
+        public Entry(String type, Instant createdAt) {
+            this.type = type;
+            this.createdAt = createdAt;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public Instant getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(Instant createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        public String getTenderId() {
+            return tenderId;
+        }
+
+        public void setTenderId(String tenderId) {
+            this.tenderId = tenderId;
+        }
+
+        public String getTenderTitle() {
+            return tenderTitle;
+        }
+
+        public void setTenderTitle(String tenderTitle) {
+            this.tenderTitle = tenderTitle;
+        }
+
+        public String getBidId() {
+            return bidId;
+        }
+
+        public void setBidId(String bidId) {
+            this.bidId = bidId;
+        }
+
+        public String getCompanyId() {
+            return companyId;
+        }
+
+        public void setCompanyId(String companyId) {
+            this.companyId = companyId;
+        }
+
+        public String getCompanyName() {
+            return companyName;
+        }
+
+        public void setCompanyName(String companyName) {
+            this.companyName = companyName;
+        }
+
+        public Double getAmount() {
+            return amount;
+        }
+
+        public void setAmount(Double amount) {
+            this.amount = amount;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public Double getRating() {
+            return rating;
+        }
+
+        public void setRating(Double rating) {
+            this.rating = rating;
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package com.example.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+
 @Document(collection = "bids")
+@CompoundIndex(name = "companyId_createdAt_id", def = "{'companyId': 1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "tenderId_createdAt", def = "{'tenderId': 1, 'createdAt': -1}")
+@CompoundIndex(name = "tenderId_amount", def = "{'tenderId': 1, 'amount': 1}")
+@CompoundIndex(name = "companyId_tenderId", def = "{'companyId': 1, 'tenderId': 1}")
+@CompoundIndex(name = "companyId_status_proposedDeadline", def = "{'companyId': 1, 'status': 1, 'proposedDeadline': 1}")
 public class Bid {
     @Id
     private String id;
@@ -11,10 +20,15 @@ public class Bid {
     private String companyId;
     private String companyName;
     private double amount;
-    private String proposedDeadline;
+    private Instant proposedDeadline;
     private String message;
     private String status; // "pending", "accepted", "rejected"
-    private String createdAt;
+    @Indexed
+    private Instant createdAt;
+
+    // Copied from the tender for the upcoming deadlines list
+    private String tenderTitle;
+    private Instant tenderCreatedAt;
 
     public Bid() {
     }
@@ -59,11 +73,11 @@ public class Bid {
         this.amount = amount;
     }
 
-    public String getProposedDeadline() {
+    public Instant getProposedDeadline() {
         return proposedDeadline;
     }
 
-    public void setProposedDeadline(String proposedDeadline) {
+    public void setProposedDeadline(Instant proposedDeadline) {
         this.proposedDeadline = proposedDeadline;
     }
 
@@ -83,11 +97,27 @@ public class Bid {
         this.status = status;
     }
 
-    public String getCreatedAt() {
+    public Instant getCreatedAt() {
         return createdAt;
     }
 
-    public void setCreatedAt(String createdAt) {
+    public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
-}
\ No newline at end of file
+
+    public String getTenderTitle() {
+        return tenderTitle;
+    }
+
+    public void setTenderTitle(String tenderTitle) {
+        this.tenderTitle = tenderTitle;
+    }
+
+    public Instant getTenderCreatedAt() {
+        return tenderCreatedAt;
+    }
+
+    public void setTenderCreatedAt(Instant tenderCreatedAt) {
+        this.tenderCreatedAt = tenderCreatedAt;
+    }
+}
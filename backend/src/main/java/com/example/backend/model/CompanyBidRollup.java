@@ -0,0 +1,143 @@
+package com.example.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-company bid aggregates, maintained incrementally on every bid write.
+ * The document ID is the company ID.
+ */
+@Document(collection = "company_bid_rollups")
+public class CompanyBidRollup {
+    @Id
+    private String id;
+    private Map<String, MonthlyBids> months; // Keyed by "yyyy-MM" of the bid creation date
+
+    public CompanyBidRollup() {
+        this.months = new HashMap<>();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Map<String, MonthlyBids> getMonths() {
+        return months;
+    }
+
+    public void setMonths(Map<String, MonthlyBids> months) {
+        this.months = months;
+    }
+
+    public static class MonthlyBids {
+        private Map<String, Long> counts;    // Bid count by status
+        private Map<String, Double> amounts; // Bid amount sum by status
+        private Double minAmount;
+        private Double maxAmount;
+        private long responseTimeDays;       // Sum of days between tender creation and bid submission
+        private long responseTimeCount;
+        private double pricingScoreSum;      // Sum of per-bid pricing competitiveness scores (0-10)
+        private double markupSum;            // Sum of per-bid markup percentages over the tender budget
+        private long pricedCount;            // Bids whose tender had a budget
+
+        public MonthlyBids() {
+            this.counts = new HashMap<>();
+            this.amounts = new HashMap<>();
+        }
+
+        public long getCount(String status) {
+            return counts.getOrDefault(status, 0L);
+        }
+
+        public long getTotalCount() {
+            return counts.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public double getAmount(String status) {
+            return amounts.getOrDefault(status, 0.0);
+        }
+
+        public double getTotalAmount() {
+            return amounts.values().stream().mapToDouble(Double::doubleValue).sum();
+        }
+
+        public Map<String, Long> getCounts() {
+            return counts;
+        }
+
+        public void setCounts(Map<String, Long> counts) {
+            this.counts = counts;
+        }
+
+        public Map<String, Double> getAmounts() {
+            return amounts;
+        }
+
+        public void setAmounts(Map<String, Double> amounts) {
+            this.amounts = amounts;
+        }
+
+        public Double getMinAmount() {
+            return minAmount;
+        }
+
+        public void setMinAmount(Double minAmount) {
+            this.minAmount = minAmount;
+        }
+
+        public Double getMaxAmount() {
+            return maxAmount;
+        }
+
+        public void setMaxAmount(Double maxAmount) {
+            this.maxAmount = maxAmount;
+        }
+
+        public long getResponseTimeDays() {
+            return responseTimeDays;
+        }
+
+        public void setResponseTimeDays(long responseTimeDays) {
+            this.responseTimeDays = responseTimeDays;
+        }
+
+        public long getResponseTimeCount() {
+            return responseTimeCount;
+        }
+
+        public void setResponseTimeCount(long responseTimeCount) {
+            this.responseTimeCount = responseTimeCount;
+        }
+
+        public double getPricingScoreSum() {
+            return pricingScoreSum;
+        }
+
+        public void setPricingScoreSum(double pricingScoreSum) {
+            this.pricingScoreSum = pricingScoreSum;
+        }
+
+        public double getMarkupSum() {
+            return markupSum;
+        }
+
+        public void setMarkupSum(double markupSum) {
+            this.markupSum = markupSum;
+        }
+
+        public long getPricedCount() {
+            return pricedCount;
+        }
+
+        public void setPricedCount(long pricedCount) {
+            this.pricedCount = pricedCount;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Platform-wide totals of the client dashboard summary, maintained with atomic
+ * increments on every tender, bid and company write. A single document with ID
+ * {@link #ID}.
+ */
+@Document(collection = "dashboard_counters")
+public class DashboardCounters {
+    public static final String ID = "client-summary";
+
+    @Id
+    private String id;
+    private long totalTenders;
+    private long activeTenders;
+    private long completedTenders; // Tenders with status "ended"
+    private double totalBudget;
+    private long totalBids;
+    private long acceptedBids;
+    private long totalCompanies;
+    private Instant reconciledAt; // Last time the counters were recomputed from the collections
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getTotalTenders() {
+        return totalTenders;
+    }
+
+    public void setTotalTenders(long totalTenders) {
+        this.totalTenders = totalTenders;
+    }
+
+    public long getActiveTenders() {
+        return activeTenders;
+    }
+
+    public void setActiveTenders(long activeTenders) {
+        this.activeTenders = activeTenders;
+    }
+
+    public long getCompletedTenders() {
+        return completedTenders;
+    }
+
+    public void setCompletedTenders(long completedTenders) {
+        this.completedTenders = completedTenders;
+    }
+
+    public double getTotalBudget() {
+        return totalBudget;
+    }
+
+    public void setTotalBudget(double totalBudget) {
+        this.totalBudget = totalBudget;
+    }
+
+    public long getTotalBids() {
+        return totalBids;
+    }
+
+    public void setTotalBids(long totalBids) {
+        this.totalBids = totalBids;
+    }
+
+    public long getAcceptedBids() {
+        return acceptedBids;
+    }
+
+    public void setAcceptedBids(long acceptedBids) {
+        this.acceptedBids = acceptedBids;
+    }
+
+    public long getTotalCompanies() {
+        return totalCompanies;
+    }
+
+    public void setTotalCompanies(long totalCompanies) {
+        this.totalCompanies = totalCompanies;
+    }
+
+    public Instant getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public void setReconciledAt(Instant reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+}
@@ -1,28 +1,36 @@
 package com.example.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
-import java.util.List;
-import java.util.ArrayList;
+import java.time.Instant;
 
 @Document(collection = "tenders")
+@CompoundIndex(name = "clientId_status_createdAt", def = "{'clientId': 1, 'status': 1, 'createdAt': -1}")
+@CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "status_deadline", def = "{'status': 1, 'deadline': 1}")
 public class Tender {
     @Id
     private String id;
     private String title;
     private String description;
     private double budget;
-    private String deadline;
+    @Indexed
+    private Instant deadline;
     private String status; // "new", "active", "ended"
     private int bidsCount;
     private Double lowestBid;
-    private String createdAt;
+    private Instant createdAt;
     private String clientId; // Reference to the user who created the tender
-    private List<String> bidIds; // Store bid IDs instead of full bid objects
 
-    public Tender() {
-        this.bidIds = new ArrayList<>();
-    }
+    // Award outcome, recorded when the tender is awarded
+    private String winningBidId;
+    private String winningCompanyId;
+    @Indexed
+    private String winningCompanyType;
+    private Double awardedAmount;
+    private Instant awardedDeadline; // Proposed deadline of the winning bid
 
     public String getId() {
         return id;
@@ -56,11 +64,11 @@ public class Tender {
         this.budget = budget;
     }
 
-    public String getDeadline() {
+    public Instant getDeadline() {
         return deadline;
     }
 
-    public void setDeadline(String deadline) {
+    public void setDeadline(Instant deadline) {
         this.deadline = deadline;
     }
 
@@ -88,11 +96,11 @@ public class Tender {
         this.lowestBid = lowestBid;
     }
 
-    public String getCreatedAt() {
+    public Instant getCreatedAt() {
         return createdAt;
     }
 
-    public void setCreatedAt(String createdAt) {
+    public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
 
@@ -104,11 +112,43 @@ public class Tender {
         this.clientId = clientId;
     }
 
-    public List<String> getBidIds() {
-        return bidIds;
+    public String getWinningBidId() {
+        return winningBidId;
+    }
+
+    public void setWinningBidId(String winningBidId) {
+        this.winningBidId = winningBidId;
+    }
+
+    public String getWinningCompanyId() {
+        return winningCompanyId;
+    }
+
+    public void setWinningCompanyId(String winningCompanyId) {
+        this.winningCompanyId = winningCompanyId;
+    }
+
+    public String getWinningCompanyType() {
+        return winningCompanyType;
+    }
+
+    public void setWinningCompanyType(String winningCompanyType) {
+        this.winningCompanyType = winningCompanyType;
+    }
+
+    public Double getAwardedAmount() {
+        return awardedAmount;
+    }
+
+    public void setAwardedAmount(Double awardedAmount) {
+        this.awardedAmount = awardedAmount;
+    }
+
+    public Instant getAwardedDeadline() {
+        return awardedDeadline;
     }
 
-    public void setBidIds(List<String> bidIds) {
-        this.bidIds = bidIds;
+    public void setAwardedDeadline(Instant awardedDeadline) {
+        this.awardedDeadline = awardedDeadline;
     }
 }
\ No newline at end of file
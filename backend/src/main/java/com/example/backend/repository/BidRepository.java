@@ -1,13 +1,28 @@
 package com.example.backend.repository;
 
 import com.example.backend.model.Bid;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Range;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BidRepository extends MongoRepository<Bid, String> {
     List<Bid> findByCompanyId(String companyId);
+    List<Bid> findByCompanyId(String companyId, Pageable pageable);
+    // Keyset page: the company's bids ordered after (createdAt, id) when sorted by createdAt and then ID, both descending
+    @Query("{ 'companyId': ?0, '$or': [ { 'createdAt': { '$lt': ?1 } }, { 'createdAt': ?1, '_id': { '$lt': ?2 } } ] }")
+    List<Bid> findByCompanyIdCreatedBefore(String companyId, Instant createdAt, String id, Pageable pageable);
     List<Bid> findByStatus(String status);
+    List<Bid> findByCompanyIdAndStatusAndProposedDeadlineAfter(String companyId, String status, Instant after, Pageable pageable);
+    List<Bid> findByCreatedAtBetween(Range<Instant> createdAt);
+    List<Bid> findByCompanyIdAndCreatedAtBetween(String companyId, Range<Instant> createdAt);
+    List<Bid> findByTenderId(String tenderId);
+    List<Bid> findByTenderIdIn(Collection<String> tenderIds);
+    List<Bid> findByTenderIdInAndCreatedAtBetween(Collection<String> tenderIds, Range<Instant> createdAt);
 }
\ No newline at end of file
@@ -1,14 +1,28 @@
 package com.example.backend.repository;
 
 import com.example.backend.model.Tender;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TenderRepository extends MongoRepository<Tender, String> {
     List<Tender> findByClientId(String clientId);
+    List<Tender> findByClientId(String clientId, Pageable pageable);
+    long countByClientId(String clientId);
+    long countByClientIdAndStatus(String clientId, String status);
+    @Query(value = "{ 'clientId': ?0 }", fields = "{ '_id': 1 }")
+    List<Tender> findIdsByClientId(String clientId);
     List<Tender> findByStatus(String status);
-    List<Tender> findByBidIdsIn(List<String> bidIds);
+    List<Tender> findByCreatedAtGreaterThanEqual(Instant from);
+    List<Tender> findAllBy(Pageable pageable);
+    // Keyset page: tenders ordered after (createdAt, id) when sorted by createdAt and then ID, both descending
+    @Query("{ '$or': [ { 'createdAt': { '$lt': ?0 } }, { 'createdAt': ?0, '_id': { '$lt': ?1 } } ] }")
+    List<Tender> findCreatedBefore(Instant createdAt, String id, Pageable pageable);
+    List<Tender> findByWinningCompanyTypeIn(Collection<String> companyTypes);
 }
\ No newline at end of file
@@ -0,0 +1,268 @@
+package com.example.backend.service;
+
+import com.example.backend.model.ActivityFeed;
+import com.example.backend.model.Bid;
+import com.example.backend.model.Company;
+import com.example.backend.model.Review;
+import com.example.backend.model.Tender;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Fans activity out to the feeds of the clients and companies involved. Entries
+ * are queued and a single writer thread pushes them in batches, one $push per
+ * feed with $position 0 and $slice to keep each feed newest first and capped, so
+ * writes return without waiting for the feed. When the queue is full the writer
+ * is overtaken and the caller writes the batch itself. The feeds are best effort:
+ * entries of a failed batch are dropped.
+ */
+@Service
+public class ActivityFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityFeedService.class);
+
+    public static final String BID_SUBMITTED = "bid-submitted";
+    public static final String TENDER_CREATED = "tender-created";
+    public static final String TENDER_CLOSED = "tender-closed";
+    public static final String REVIEW_POSTED = "review-posted";
+
+    // How often the idle writer checks whether it should stop
+    private static final long POLL_INTERVAL_MS = 200;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final BlockingQueue<Pending> queue;
+    private final int maxEntries;
+    private final int batchSize;
+    private final long shutdownTimeoutMs;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public ActivityFeedService(@Value("${activity.feed.max-entries:100}") int maxEntries,
+                               @Value("${activity.feed.queue-size:10000}") int queueSize,
+                               @Value("${activity.feed.batch-size:500}") int batchSize,
+                               @Value("${activity.feed.shutdown-timeout-ms:5000}") long shutdownTimeoutMs) {
+        this.maxEntries = maxEntries;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.writer = new Thread(this::writeLoop, "activity-feed-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public static String clientFeed(String clientId) {
+        return "client:" + clientId;
+    }
+
+    public static String companyFeed(String companyId) {
+        return "company:" + companyId;
+    }
+
+    /**
+     * Get the newest entries of a feed
+     * @param feedId The owner key, see {@link #clientFeed} and {@link #companyFeed}
+     * @param limit Maximum number of entries
+     * @return The entries, newest first
+     */
+    public List<ActivityFeed.Entry> getFeed(String feedId, int limit) {
+        Query query = query(where("_id").is(feedId));
+        query.fields().slice("entries", limit);
+        ActivityFeed feed = mongoTemplate.findOne(query, ActivityFeed.class);
+        return feed != null ? feed.getEntries() : new ArrayList<>();
+    }
+
+    /**
+     * Record a bid on the feeds of the bidding company and of the tender's client
+     * @param bid The saved bid
+     * @param tender The tender of the bid, may be null
+     */
+    public void recordBidSubmitted(Bid bid, Tender tender) {
+        ActivityFeed.Entry entry = bidEntry(BID_SUBMITTED, bid, tender, bid.getCreatedAt());
+        enqueueForCompany(bid.getCompanyId(), entry);
+        if (tender != null) {
+            enqueueForClient(tender.getClientId(), entry);
+        }
+    }
+
+    public void recordTenderCreated(Tender tender) {
+        enqueueForClient(tender.getClientId(), tenderEntry(TENDER_CREATED, tender, tender.getCreatedAt()));
+    }
+
+    /**
+     * Record a closed tender on the client's feed and, with the outcome of their
+     * bid, on the feed of every bidding company
+     * @param tender The closed tender
+     * @param bids The bids on the tender, carrying their final status
+     */
+    public void recordTenderClosed(Tender tender, List<Bid> bids) {
+        Instant now = Instant.now();
+        enqueueForClient(tender.getClientId(), tenderEntry(TENDER_CLOSED, tender, now));
+        for (Bid bid : bids) {
+            enqueueForCompany(bid.getCompanyId(), bidEntry(TENDER_CLOSED, bid, tender, now));
+        }
+    }
+
+    public void recordReviewPosted(Company company, Review review) {
+        ActivityFeed.Entry entry = new ActivityFeed.Entry(REVIEW_POSTED, Instant.now());
+        entry.setCompanyId(company.getId());
+        entry.setCompanyName(company.getName());
+        entry.setRating(review.getRating());
+        enqueueForCompany(company.getId(), entry);
+    }
+
+    /**
+     * Write all queued entries now
+     */
+    public void flush() {
+        List<Pending> batch = new ArrayList<>();
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Stop the writer, which writes the queued entries before it ends. Shutdown
+     * waits for it at most activity.feed.shutdown-timeout-ms, so an unreachable
+     * database cannot hold up the exit.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            writer.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.warn("Gave up writing {} queued activity feed entries on shutdown", queue.size());
+        }
+    }
+
+    // Entries of documents without an owner have no feed to go to
+    private void enqueueForClient(String clientId, ActivityFeed.Entry entry) {
+        if (clientId != null) {
+            enqueue(clientFeed(clientId), entry);
+        }
+    }
+
+    private void enqueueForCompany(String companyId, ActivityFeed.Entry entry) {
+        if (companyId != null) {
+            enqueue(companyFeed(companyId), entry);
+        }
+    }
+
+    private void enqueue(String feedId, ActivityFeed.Entry entry) {
+        Pending pending = new Pending(feedId, entry);
+        while (!queue.offer(pending)) {
+            // The writer fell behind, write a batch on the caller's thread
+            List<Pending> batch = new ArrayList<>();
+            queue.drainTo(batch, batchSize);
+            writeQuietly(batch);
+        }
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>();
+        while (running) {
+            try {
+                // Wait for the first entry, then take whatever else is queued
+                Pending first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeQuietly(batch);
+            } catch (InterruptedException e) {
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        // Write what is left before the thread ends
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeQuietly(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeQuietly(List<Pending> batch) {
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            // Drop the batch but keep the writer thread alive
+            logger.warn("Could not write {} activity feed entries: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Group by feed, newest first, so each feed gets a single $push
+        Map<String, LinkedList<ActivityFeed.Entry>> entriesByFeed = new LinkedHashMap<>();
+        for (Pending pending : batch) {
+            entriesByFeed.computeIfAbsent(pending.feedId, k -> new LinkedList<>()).addFirst(pending.entry);
+        }
+
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ActivityFeed.class);
+        entriesByFeed.forEach((feedId, entries) -> {
+            Update update = new Update().set("updatedAt", now);
+            update.push("entries").atPosition(Update.Position.FIRST).slice(maxEntries).each(entries.toArray());
+            bulk.upsert(query(where("_id").is(feedId)), update);
+        });
+        bulk.execute();
+    }
+
+    private static ActivityFeed.Entry bidEntry(String type, Bid bid, Tender tender, Instant createdAt) {
+        ActivityFeed.Entry entry = new ActivityFeed.Entry(type, createdAt);
+        entry.setBidId(bid.getId());
+        entry.setCompanyId(bid.getCompanyId());
+        entry.setCompanyName(bid.getCompanyName());
+        entry.setAmount(bid.getAmount());
+        entry.setStatus(bid.getStatus());
+        entry.setTenderId(bid.getTenderId());
+        entry.setTenderTitle(tender != null ? tender.getTitle() : bid.getTenderTitle());
+        return entry;
+    }
+
+    private static ActivityFeed.Entry tenderEntry(String type, Tender tender, Instant createdAt) {
+        ActivityFeed.Entry entry = new ActivityFeed.Entry(type, createdAt);
+        entry.setTenderId(tender.getId());
+        entry.setTenderTitle(tender.getTitle());
+        entry.setAmount(tender.getBudget());
+        return entry;
+    }
+
+    private static final class Pending {
+        private final String feedId;
+        private final ActivityFeed.Entry entry;
+
+        Pending(String feedId, ActivityFeed.Entry entry) {
+            this.feedId = feedId;
+            this.entry = entry;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.backend.service;
+
+import com.example.backend.event.AnalyticsDataChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size- and time-bounded cache for analytics results. Entries are keyed by the
+ * analytics method, the company (null for cross-company results) and the
+ * request parameters, and are dropped when an {@link AnalyticsDataChangedEvent}
+ * reports a write to the company's data.
+ */
+@Service
+public class AnalyticsCache {
+
+    private final Cache<Key, Object> cache;
+
+    // Bumped on every invalidation so results computed concurrently with a write are not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public AnalyticsCache(@Value("${analytics.cache.maximum-size:10000}") long maximumSize,
+                          @Value("${analytics.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get a cached result, computing and caching it on a miss
+     * @param method The analytics method name
+     * @param companyId The company the result belongs to, or null for cross-company results
+     * @param computation Computes the result on a miss
+     * @param params The request parameters that affect the result
+     * @return The cached or computed result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String method, String companyId, Supplier<T> computation, Object... params) {
+        Key key = new Key(method, companyId, Arrays.asList(params));
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        long generationBefore = generation.get();
+        T result = computation.get();
+        if (result != null && generation.get() == generationBefore) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Drop the entries of the changed companies and all cross-company entries
+     * @param event The data change
+     */
+    @EventListener
+    public void onDataChanged(AnalyticsDataChangedEvent event) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> {
+            boolean affected = key.companyId() == null || event.getCompanyIds().contains(key.companyId());
+            if (affected) {
+                invalidations.incrementAndGet();
+            }
+            return affected;
+        });
+    }
+
+    /**
+     * Drop all entries
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        invalidations.addAndGet(cache.estimatedSize());
+        cache.invalidateAll();
+    }
+
+    /**
+     * Get the cache statistics
+     * @return Map with hit, miss, eviction and invalidation counts
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount()); // Size and TTL evictions
+        result.put("invalidations", invalidations.get()); // Entries dropped by data changes
+        return result;
+    }
+
+    private record Key(String method, String companyId, List<Object> params) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.backend.service;
+
+/**
+ * Implementations that can answer the per-company bid analytics endpoints.
+ */
+public enum AnalyticsEngine {
+    JVM,      // Load the company's bids and aggregate them in Java (BidAnalyticsService)
+    PIPELINE, // Aggregate on the server with a MongoDB pipeline (BidAggregationService)
+    ROLLUP;   // Read the incrementally maintained company_bid_rollups document (BidRollupService)
+
+    public static AnalyticsEngine fromName(String name) {
+        for (AnalyticsEngine engine : values()) {
+            if (engine.name().equalsIgnoreCase(name.trim())) {
+                return engine;
+            }
+        }
+        throw new IllegalArgumentException("Unknown analytics engine: " + name);
+    }
+}
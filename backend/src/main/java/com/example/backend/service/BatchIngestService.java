@@ -0,0 +1,357 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BatchItemResultDTO;
+import com.example.backend.dto.BatchResultDTO;
+import com.example.backend.event.AnalyticsDataChangedEvent;
+import com.example.backend.event.TenderUpdateEvent;
+import com.example.backend.model.Bid;
+import com.example.backend.model.Tender;
+import com.example.backend.repository.TenderRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Imports tenders and bids from a JSON array in one request. The array is read
+ * one record at a time and each record is validated as it is read; valid records
+ * are written in chunks with unordered bulk inserts, so a large import never sits
+ * in memory as a whole and one bad record does not stop the others. The derived
+ * counters are updated once per chunk.
+ */
+@Service
+public class BatchIngestService {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TenderRepository tenderRepository;
+
+    @Autowired
+    private BidJoinService bidJoinService;
+
+    @Autowired
+    private BidRollupService bidRollupService;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private CompanyLeaderboard companyLeaderboard;
+
+    @Autowired
+    private ActivityFeedService activityFeedService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${ingest.batch.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${ingest.batch.max-items:10000}")
+    private int maxItems;
+
+    /**
+     * Import a JSON array of tenders. Tenders are created like a single created
+     * tender: status "new" without bids or award. Records carrying an ID fail.
+     * @param body The request body
+     * @return The outcome of every record
+     * @throws IllegalArgumentException If the body is not a JSON array
+     * @throws IOException If the body could not be read
+     */
+    public BatchResultDTO importTenders(InputStream body) throws IOException {
+        return importAll(body, Tender.class, BatchIngestService::validateTender, this::writeTenders);
+    }
+
+    /**
+     * Import a JSON array of bids. Bids are created like a bid added to its
+     * tender: status "pending", and counted on the tender. Records carrying an ID fail.
+     * @param body The request body
+     * @return The outcome of every record
+     * @throws IllegalArgumentException If the body is not a JSON array
+     * @throws IOException If the body could not be read
+     */
+    public BatchResultDTO importBids(InputStream body) throws IOException {
+        return importAll(body, Bid.class, BatchIngestService::validateBid, this::writeBids);
+    }
+
+    private <T> BatchResultDTO importAll(InputStream body, Class<T> type, Function<T, String> validator,
+                                         Function<List<Item<T>>, List<BatchItemResultDTO>> writer) throws IOException {
+        List<BatchItemResultDTO> results = new ArrayList<>();
+        List<Item<T>> chunk = new ArrayList<>();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            try {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IllegalArgumentException("Expected a JSON array of records");
+                }
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+            }
+
+            int index = 0;
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        results.add(BatchItemResultDTO.failed(index, "Malformed JSON: unexpected end of input"));
+                        break;
+                    }
+                    if (index >= maxItems) {
+                        parser.skipChildren();
+                        results.add(BatchItemResultDTO.failed(index++, "Exceeds the limit of " + maxItems + " records per batch"));
+                        continue;
+                    }
+                    if (token != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        results.add(BatchItemResultDTO.failed(index++, "Expected a JSON object"));
+                        continue;
+                    }
+
+                    // Read one record, so a bad record only fails itself
+                    JsonNode node = objectMapper.readTree(parser);
+                    T record;
+                    try {
+                        record = objectMapper.treeToValue(node, type);
+                    } catch (JsonProcessingException e) {
+                        results.add(BatchItemResultDTO.failed(index++, "Unreadable record: " + e.getOriginalMessage()));
+                        continue;
+                    }
+                    String error = validator.apply(record);
+                    if (error != null) {
+                        results.add(BatchItemResultDTO.failed(index++, error));
+                        continue;
+                    }
+
+                    chunk.add(new Item<>(index++, record));
+                    if (chunk.size() >= chunkSize) {
+                        results.addAll(writer.apply(chunk));
+                        chunk = new ArrayList<>();
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                // The rest of the body cannot be read; the records read so far are still written
+                results.add(BatchItemResultDTO.failed(index, "Malformed JSON: " + e.getOriginalMessage()));
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(writer.apply(chunk));
+        }
+
+        results.sort(Comparator.comparingInt(BatchItemResultDTO::index));
+        int created = (int) results.stream().filter(result -> result.id() != null).count();
+        return new BatchResultDTO(created, results.size() - created, results);
+    }
+
+    private List<BatchItemResultDTO> writeTenders(List<Item<Tender>> chunk) {
+        Instant now = Instant.now();
+        List<Tender> tenders = new ArrayList<>();
+        for (Item<Tender> item : chunk) {
+            Tender tender = item.record;
+            tender.setId(new ObjectId().toHexString());
+            tender.setCreatedAt(now);
+            tender.setStatus("new");
+            tender.setBidsCount(0);
+            tender.setLowestBid(null);
+            // A tender is only awarded when it is closed
+            tender.setWinningBidId(null);
+            tender.setWinningCompanyId(null);
+            tender.setWinningCompanyType(null);
+            tender.setAwardedAmount(null);
+            tender.setAwardedDeadline(null);
+            tenders.add(tender);
+        }
+
+        Map<Integer, String> errors = insert(tenders, Tender.class);
+        List<BatchItemResultDTO> results = new ArrayList<>();
+        List<Tender> created = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Tender tender = tenders.get(i);
+            if (errors.containsKey(i)) {
+                results.add(BatchItemResultDTO.failed(chunk.get(i).index, errors.get(i)));
+            } else {
+                results.add(BatchItemResultDTO.created(chunk.get(i).index, tender.getId()));
+                created.add(tender);
+            }
+        }
+
+        dashboardCounterService.recordTendersCreated(created);
+        Set<String> clientIds = new HashSet<>();
+        for (Tender tender : created) {
+            activityFeedService.recordTenderCreated(tender);
+            clientIds.add(tender.getClientId());
+        }
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(AnalyticsDataChangedEvent.forCompanies(Collections.emptySet())
+                    .forClients(clientIds).in(DataVersions.TENDERS));
+        }
+        return results;
+    }
+
+    private List<BatchItemResultDTO> writeBids(List<Item<Bid>> chunk) {
+        // Load the tenders of the chunk with one query
+        Map<String, Tender> tenders = bidJoinService.tendersFor(chunk.stream().map(item -> item.record).toList());
+
+        Instant now = Instant.now();
+        List<BatchItemResultDTO> results = new ArrayList<>();
+        List<Item<Bid>> insertable = new ArrayList<>();
+        List<Bid> bids = new ArrayList<>();
+        for (Item<Bid> item : chunk) {
+            Bid bid = item.record;
+            Tender tender = tenders.get(bid.getTenderId());
+            if (tender == null) {
+                results.add(BatchItemResultDTO.failed(item.index, "Tender not found with id " + bid.getTenderId()));
+                continue;
+            }
+            bid.setId(new ObjectId().toHexString());
+            bid.setCreatedAt(now);
+            bid.setStatus("pending");
+            bid.setTenderTitle(tender.getTitle());
+            bid.setTenderCreatedAt(tender.getCreatedAt());
+            insertable.add(item);
+            bids.add(bid);
+        }
+        if (bids.isEmpty()) {
+            return results;
+        }
+
+        Map<Integer, String> errors = insert(bids, Bid.class);
+        List<Bid> created = new ArrayList<>();
+        for (int i = 0; i < bids.size(); i++) {
+            if (errors.containsKey(i)) {
+                results.add(BatchItemResultDTO.failed(insertable.get(i).index, errors.get(i)));
+            } else {
+                results.add(BatchItemResultDTO.created(insertable.get(i).index, bids.get(i).getId()));
+                created.add(bids.get(i));
+            }
+        }
+        if (created.isEmpty()) {
+            return results;
+        }
+
+        // Count the bids on their tenders with one bulk update
+        Map<String, Integer> counts = new HashMap<>();
+        Map<String, Double> lowest = new HashMap<>();
+        Map<String, Set<String>> bidders = new HashMap<>();
+        for (Bid bid : created) {
+            counts.merge(bid.getTenderId(), 1, Integer::sum);
+            lowest.merge(bid.getTenderId(), bid.getAmount(), Math::min);
+            bidders.computeIfAbsent(bid.getTenderId(), k -> new HashSet<>()).add(bid.getCompanyId());
+        }
+        BulkOperations tenderUpdates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Tender.class);
+        counts.forEach((tenderId, count) -> tenderUpdates.updateOne(query(where("_id").is(tenderId)),
+                new Update().inc("bidsCount", count).min("lowestBid", lowest.get(tenderId))));
+        tenderUpdates.execute();
+
+        // Derived views, one write each where they are stored
+        bidRollupService.recordBidsCreated(created, tenders);
+        dashboardCounterService.recordBidsCreated(created);
+        Set<String> companyIds = new HashSet<>();
+        Set<String> clientIds = new HashSet<>();
+        for (Bid bid : created) {
+            Tender tender = tenders.get(bid.getTenderId());
+            companyLeaderboard.recordBidCreated(bid);
+            activityFeedService.recordBidSubmitted(bid, tender);
+            companyIds.add(bid.getCompanyId());
+            clientIds.add(tender.getClientId());
+        }
+        eventPublisher.publishEvent(AnalyticsDataChangedEvent.forCompanies(companyIds)
+                .forClients(clientIds).in(DataVersions.TENDERS, DataVersions.BIDS));
+        for (Tender tender : tenderRepository.findAllById(counts.keySet())) {
+            eventPublisher.publishEvent(TenderUpdateEvent.tenderUpdated(tender, bidders.get(tender.getId())));
+        }
+        return results;
+    }
+
+    // Insert in one unordered bulk write; returns the errors by position in the list
+    private <T> Map<Integer, String> insert(List<T> documents, Class<T> type) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(documents).execute();
+            return Collections.emptyMap();
+        } catch (BulkOperationException e) {
+            Map<Integer, String> errors = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), error.getMessage());
+            }
+            // A failed bulk write publishes no after-save events, so the listeners keeping the
+            // data versions and the columnar store current are told about the inserted documents here
+            String collection = mongoTemplate.getCollectionName(type);
+            for (int i = 0; i < documents.size(); i++) {
+                if (!errors.containsKey(i)) {
+                    Document document = new Document();
+                    mongoTemplate.getConverter().write(documents.get(i), document);
+                    eventPublisher.publishEvent(new AfterSaveEvent<>(documents.get(i), document, collection));
+                }
+            }
+            return errors;
+        }
+    }
+
+    private static String validateTender(Tender tender) {
+        if (tender.getId() != null) {
+            return "id is assigned by the server";
+        }
+        if (tender.getTitle() == null || tender.getTitle().isBlank()) {
+            return "title is required";
+        }
+        if (tender.getBudget() < 0) {
+            return "budget must not be negative";
+        }
+        return null;
+    }
+
+    private static String validateBid(Bid bid) {
+        if (bid.getId() != null) {
+            return "id is assigned by the server";
+        }
+        if (bid.getTenderId() == null || bid.getTenderId().isBlank()) {
+            return "tenderId is required";
+        }
+        if (bid.getCompanyId() == null || bid.getCompanyId().isBlank()) {
+            return "companyId is required";
+        }
+        if (bid.getAmount() <= 0) {
+            return "amount must be positive";
+        }
+        return null;
+    }
+
+    /**
+     * A valid record and its position in the request array
+     */
+    private static final class Item<T> {
+        private final int index;
+        private final T record;
+
+        Item(int index, T record) {
+            this.index = index;
+            this.record = record;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.*;
+import com.example.backend.model.Bid;
+import com.example.backend.util.TimeBuckets;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+
+/**
+ * Aggregation pipeline implementation of the per-company bid analytics in
+ * {@link BidAnalyticsService}. Filtering and grouping run on the server so only
+ * the month/status buckets are transferred instead of every bid of the company.
+ */
+@Service
+public class BidAggregationService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Get success rate for a company per time bucket
+     * @param companyId The company ID
+     * @param buckets The time buckets, e.g. the last 6 months in the user's time zone
+     * @return Bucket labels, year-qualified bucket keys and success rate percentages
+     */
+    public RateSeriesDTO getBidSuccessRate(String companyId, TimeBuckets buckets) {
+        long[][] counts = countByBucket(companyId, buckets);
+
+        double[] successRates = new double[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            long total = counts[i][0];
+            successRates[i] = total == 0 ? 0.0 : (double) counts[i][1] / total * 100;
+        }
+
+        return new RateSeriesDTO(buckets.labels(), buckets.keys(), successRates);
+    }
+
+    /**
+     * Get bid volume per time bucket
+     * @param companyId The company ID
+     * @param buckets The time buckets, e.g. the last 6 months in the user's time zone
+     * @return Bucket labels, year-qualified bucket keys and bid counts
+     */
+    public CountSeriesDTO getBidVolume(String companyId, TimeBuckets buckets) {
+        long[][] counts = countByBucket(companyId, buckets);
+
+        long[] bidCounts = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            bidCounts[i] = counts[i][0];
+        }
+
+        return new CountSeriesDTO(buckets.labels(), buckets.keys(), bidCounts);
+    }
+
+    /**
+     * Get bid status distribution
+     * @param companyId The company ID
+     * @return Status labels and counts
+     */
+    public LabeledCountsDTO getBidDistribution(String companyId) {
+        TypedAggregation<Bid> aggregation = newAggregation(Bid.class,
+                match(Criteria.where("companyId").is(companyId)),
+                group("status").count().as("count"));
+
+        Map<String, Long> statusCounts = new HashMap<>();
+        for (Document bucket : mongoTemplate.aggregate(aggregation, Document.class)) {
+            statusCounts.put(bucket.getString("_id"), toLong(bucket.get("count")));
+        }
+
+        return new LabeledCountsDTO(BidAnalyticsService.BID_STATUS_LABELS, new long[]{
+                statusCounts.getOrDefault("accepted", 0L),
+                statusCounts.getOrDefault("rejected", 0L),
+                statusCounts.getOrDefault("pending", 0L)});
+    }
+
+    /**
+     * Get overall bid statistics
+     * @param companyId The company ID
+     * @param zone The time zone the comparison periods are calculated in
+     * @return The statistics
+     */
+    public BidStatisticsDTO getBidStatistics(String companyId, ZoneId zone) {
+        ZonedDateTime now = ZonedDateTime.now(zone);
+        Instant nowValue = now.toInstant();
+        Instant oneMonthAgo = now.minusMonths(1).toInstant();
+        Instant twoMonthsAgo = now.minusMonths(2).toInstant();
+
+        // Totals by status and the two comparison periods in a single round trip
+        TypedAggregation<Bid> aggregation = newAggregation(Bid.class,
+                match(Criteria.where("companyId").is(companyId)),
+                facet(group("status").count().as("count").sum("amount").as("amount"))
+                        .as("byStatus")
+                        .and(match(Criteria.where("createdAt").gt(twoMonthsAgo).lt(nowValue)),
+                                project("status")
+                                        .and(ConditionalOperators
+                                                .when(ComparisonOperators.valueOf("createdAt").greaterThanValue(oneMonthAgo))
+                                                .then("current")
+                                                .otherwise("previous"))
+                                        .as("period"),
+                                group("period", "status").count().as("count"))
+                        .as("byPeriod"));
+
+        Document facets = mongoTemplate.aggregate(aggregation, Document.class).getUniqueMappedResult();
+
+        long totalBids = 0;
+        double totalAmount = 0;
+        Map<String, Long> statusCounts = new HashMap<>();
+        Map<String, Map<String, Long>> periodCounts = new HashMap<>();
+
+        if (facets != null) {
+            for (Document bucket : facets.getList("byStatus", Document.class)) {
+                long count = toLong(bucket.get("count"));
+                statusCounts.put(bucket.getString("_id"), count);
+                totalBids += count;
+                totalAmount += ((Number) bucket.get("amount")).doubleValue();
+            }
+            for (Document bucket : facets.getList("byPeriod", Document.class)) {
+                Document key = bucket.get("_id", Document.class);
+                periodCounts.computeIfAbsent(key.getString("period"), k -> new HashMap<>())
+                        .put(key.getString("status"), toLong(bucket.get("count")));
+            }
+        }
+
+        long activeBids = statusCounts.getOrDefault("accepted", 0L);
+        long pendingBids = statusCounts.getOrDefault("pending", 0L);
+
+        // Calculate period-over-period changes
+        Double activeBidsChange = null;
+        Double pendingBidsChange = null;
+        Map<String, Long> current = periodCounts.get("current");
+        Map<String, Long> previous = periodCounts.get("previous");
+        if (current != null && previous != null) {
+            activeBidsChange = calculatePercentageChange(
+                    previous.getOrDefault("accepted", 0L), current.getOrDefault("accepted", 0L));
+            pendingBidsChange = calculatePercentageChange(
+                    previous.getOrDefault("pending", 0L), current.getOrDefault("pending", 0L));
+        }
+
+        return new BidStatisticsDTO(activeBids, pendingBids, (int) totalBids,
+                totalBids > 0 ? (double) activeBids / totalBids * 100 : 0.0,
+                totalBids > 0 ? totalAmount / totalBids : 0.0,
+                activeBidsChange, pendingBidsChange);
+    }
+
+    /**
+     * Count a company's bids and accepted bids per time bucket with a $bucket stage
+     * @param companyId The company ID
+     * @param buckets The time buckets
+     * @return Per bucket, the bid count and the accepted bid count
+     */
+    private long[][] countByBucket(String companyId, TimeBuckets buckets) {
+        Object[] boundaries = new Object[buckets.size() + 1];
+        for (int i = 0; i < boundaries.length; i++) {
+            boundaries[i] = new Date(buckets.boundaryMillis()[i]);
+        }
+
+        TypedAggregation<Bid> aggregation = newAggregation(Bid.class,
+                match(Criteria.where("companyId").is(companyId)
+                        .and("createdAt").gte(buckets.getFrom()).lt(buckets.getTo())),
+                bucket("createdAt").withBoundaries(boundaries)
+                        .andOutputCount().as("count")
+                        .andOutput(ConditionalOperators.when(Criteria.where("status").is("accepted"))
+                                .then(1).otherwise(0)).sum().as("accepted"));
+
+        long[][] counts = new long[buckets.size()][2];
+        for (Document result : mongoTemplate.aggregate(aggregation, Document.class)) {
+            // The bucket ID is its lower boundary
+            int index = buckets.indexOf(result.getDate("_id").toInstant());
+            if (index >= 0) {
+                counts[index][0] = toLong(result.get("count"));
+                counts[index][1] = toLong(result.get("accepted"));
+            }
+        }
+        return counts;
+    }
+
+    private double calculatePercentageChange(long previous, long current) {
+        if (previous == 0) {
+            return current > 0 ? 100 : 0;
+        }
+        return ((double) (current - previous) / previous) * 100;
+    }
+
+    private long toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+}
@@ -1,16 +1,21 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.*;
 import com.example.backend.model.Bid;
 import com.example.backend.model.Tender;
 import com.example.backend.model.Company;
 import com.example.backend.repository.BidRepository;
 import com.example.backend.repository.TenderRepository;
 import com.example.backend.repository.CompanyRepository;
+import com.example.backend.util.TimeBuckets;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Range;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.DoubleSummaryStatistics;
@@ -18,6 +23,9 @@ import java.util.DoubleSummaryStatistics;
 @Service
 public class BidAnalyticsService {
 
+    // Labels of the accepted, rejected and pending bid counts
+    public static final List<String> BID_STATUS_LABELS = List.of("Won", "Lost", "Pending");
+
     @Autowired
     private BidRepository bidRepository;
 
@@ -27,133 +35,88 @@ public class BidAnalyticsService {
     @Autowired
     private CompanyRepository companyRepository;
 
+    @Autowired
+    private BidJoinService bidJoinService;
+
+    // Only present when analytics.columnar.enabled=true
+    @Autowired(required = false)
+    private ColumnarAnalyticsService columnarAnalyticsService;
+
     /**
-     * Get success rate for a company over a period
+     * Get success rate for a company per time bucket
      * @param companyId The company ID
-     * @param months Number of months to look back
-     * @return Map with month labels and success rate percentages
+     * @param buckets The time buckets, e.g. the last 6 months in the user's time zone
+     * @return Bucket labels, year-qualified bucket keys and success rate percentages
      */
-    public Map<String, Object> getBidSuccessRate(String companyId, int months) {
-        List<Bid> companyBids = bidRepository.findByCompanyId(companyId);
-
-        // Get current date and calculate start date based on months parameter
-        LocalDateTime endDate = LocalDateTime.now();
-        LocalDateTime startDate = endDate.minusMonths(months);
-
-        // Filter bids by date range
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
-        List<Bid> filteredBids = companyBids.stream()
-                .filter(bid -> {
-                    LocalDateTime bidDate = LocalDateTime.parse(bid.getCreatedAt(), formatter);
-                    return !bidDate.isBefore(startDate) && !bidDate.isAfter(endDate);
-                })
-                .collect(Collectors.toList());
-
-        // Group bids by month
-        Map<String, List<Bid>> bidsByMonth = new LinkedHashMap<>();
-
-        // Initialize months
-        for (int i = 0; i < months; i++) {
-            LocalDateTime date = endDate.minusMonths(months - 1 - i);
-            String monthLabel = date.format(DateTimeFormatter.ofPattern("MMM"));
-            bidsByMonth.put(monthLabel, new ArrayList<>());
-        }
-
-        // Populate bids by month
-        for (Bid bid : filteredBids) {
-            LocalDateTime bidDate = LocalDateTime.parse(bid.getCreatedAt(), formatter);
-            String monthLabel = bidDate.format(DateTimeFormatter.ofPattern("MMM"));
-            if (bidsByMonth.containsKey(monthLabel)) {
-                bidsByMonth.get(monthLabel).add(bid);
-            }
-        }
-
-        // Calculate success rate for each month
-        List<String> labels = new ArrayList<>(bidsByMonth.keySet());
-        List<Double> successRates = new ArrayList<>();
+    public RateSeriesDTO getBidSuccessRate(String companyId, TimeBuckets buckets) {
+        // Load only the bids in the bucket range with an indexed range query
+        return getBidSuccessRate(bidRepository.findByCompanyIdAndCreatedAtBetween(
+                companyId, Range.rightOpen(buckets.getFrom(), buckets.getTo())), buckets);
+    }
 
-        for (String month : labels) {
-            List<Bid> monthBids = bidsByMonth.get(month);
-            if (monthBids.isEmpty()) {
-                successRates.add(0.0);
-            } else {
-                long acceptedBids = monthBids.stream()
+    /**
+     * Get success rate per time bucket from already loaded bids
+     * @param companyBids The company's bids, bids outside the buckets are ignored
+     * @param buckets The time buckets
+     * @return Bucket labels, year-qualified bucket keys and success rate percentages
+     */
+    public RateSeriesDTO getBidSuccessRate(List<Bid> companyBids, TimeBuckets buckets) {
+        // Group bids by bucket in a single pass
+        List<List<Bid>> bidsByBucket = buckets.group(companyBids, Bid::getCreatedAt);
+
+        // Calculate success rate for each bucket
+        double[] successRates = new double[bidsByBucket.size()];
+        for (int i = 0; i < successRates.length; i++) {
+            List<Bid> bucketBids = bidsByBucket.get(i);
+            if (!bucketBids.isEmpty()) {
+                long acceptedBids = bucketBids.stream()
                         .filter(bid -> "accepted".equals(bid.getStatus()))
                         .count();
-                double successRate = (double) acceptedBids / monthBids.size() * 100;
-                successRates.add(successRate);
+                successRates[i] = (double) acceptedBids / bucketBids.size() * 100;
             }
         }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("labels", labels);
-        result.put("data", successRates);
-        return result;
+        return new RateSeriesDTO(buckets.labels(), buckets.keys(), successRates);
     }
 
     /**
-     * Get bid volume by month
+     * Get bid volume per time bucket
      * @param companyId The company ID
-     * @param months Number of months to look back
-     * @return Map with month labels and bid counts
+     * @param buckets The time buckets, e.g. the last 6 months in the user's time zone
+     * @return Bucket labels, year-qualified bucket keys and bid counts
      */
-    public Map<String, Object> getBidVolume(String companyId, int months) {
-        List<Bid> companyBids = bidRepository.findByCompanyId(companyId);
-
-        // Get current date and calculate start date based on months parameter
-        LocalDateTime endDate = LocalDateTime.now();
-        LocalDateTime startDate = endDate.minusMonths(months);
-
-        // Filter bids by date range
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
-        List<Bid> filteredBids = companyBids.stream()
-                .filter(bid -> {
-                    LocalDateTime bidDate = LocalDateTime.parse(bid.getCreatedAt(), formatter);
-                    return !bidDate.isBefore(startDate) && !bidDate.isAfter(endDate);
-                })
-                .collect(Collectors.toList());
-
-        // Group bids by month
-        Map<String, List<Bid>> bidsByMonth = new LinkedHashMap<>();
-
-        // Initialize months
-        for (int i = 0; i < months; i++) {
-            LocalDateTime date = endDate.minusMonths(months - 1 - i);
-            String monthLabel = date.format(DateTimeFormatter.ofPattern("MMM"));
-            bidsByMonth.put(monthLabel, new ArrayList<>());
-        }
-
-        // Populate bids by month
-        for (Bid bid : filteredBids) {
-            LocalDateTime bidDate = LocalDateTime.parse(bid.getCreatedAt(), formatter);
-            String monthLabel = bidDate.format(DateTimeFormatter.ofPattern("MMM"));
-            if (bidsByMonth.containsKey(monthLabel)) {
-                bidsByMonth.get(monthLabel).add(bid);
-            }
-        }
-
-        // Count bids for each month
-        List<String> labels = new ArrayList<>(bidsByMonth.keySet());
-        List<Integer> bidCounts = new ArrayList<>();
-
-        for (String month : labels) {
-            bidCounts.add(bidsByMonth.get(month).size());
-        }
+    public CountSeriesDTO getBidVolume(String companyId, TimeBuckets buckets) {
+        // Load only the bids in the bucket range with an indexed range query
+        return getBidVolume(bidRepository.findByCompanyIdAndCreatedAtBetween(
+                companyId, Range.rightOpen(buckets.getFrom(), buckets.getTo())), buckets);
+    }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("labels", labels);
-        result.put("data", bidCounts);
-        return result;
+    /**
+     * Get bid volume per time bucket from already loaded bids
+     * @param companyBids The company's bids, bids outside the buckets are ignored
+     * @param buckets The time buckets
+     * @return Bucket labels, year-qualified bucket keys and bid counts
+     */
+    public CountSeriesDTO getBidVolume(List<Bid> companyBids, TimeBuckets buckets) {
+        // Count bids per bucket in a single pass
+        return new CountSeriesDTO(buckets.labels(), buckets.keys(), buckets.count(companyBids, Bid::getCreatedAt));
     }
 
     /**
      * Get bid status distribution
      * @param companyId The company ID
-     * @return Map with status labels and counts
+     * @return Status labels and counts
      */
-    public Map<String, Object> getBidDistribution(String companyId) {
-        List<Bid> companyBids = bidRepository.findByCompanyId(companyId);
+    public LabeledCountsDTO getBidDistribution(String companyId) {
+        return getBidDistribution(bidRepository.findByCompanyId(companyId));
+    }
 
+    /**
+     * Get bid status distribution from already loaded bids
+     * @param companyBids The company's bids
+     * @return Status labels and counts
+     */
+    public LabeledCountsDTO getBidDistribution(List<Bid> companyBids) {
         long acceptedCount = companyBids.stream()
                 .filter(bid -> "accepted".equals(bid.getStatus()))
                 .count();
@@ -166,23 +129,26 @@ public class BidAnalyticsService {
                 .filter(bid -> "pending".equals(bid.getStatus()))
                 .count();
 
-        List<String> labels = Arrays.asList("Won", "Lost", "Pending");
-        List<Long> data = Arrays.asList(acceptedCount, rejectedCount, pendingCount);
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("labels", labels);
-        result.put("data", data);
-        return result;
+        return new LabeledCountsDTO(BID_STATUS_LABELS, new long[]{acceptedCount, rejectedCount, pendingCount});
     }
 
     /**
      * Get overall bid statistics
      * @param companyId The company ID
-     * @return Map with various statistics
+     * @param zone The time zone the comparison periods are calculated in
+     * @return The statistics
      */
-    public Map<String, Object> getBidStatistics(String companyId) {
-        List<Bid> companyBids = bidRepository.findByCompanyId(companyId);
+    public BidStatisticsDTO getBidStatistics(String companyId, ZoneId zone) {
+        return getBidStatistics(bidRepository.findByCompanyId(companyId), zone);
+    }
 
+    /**
+     * Get overall bid statistics from already loaded bids
+     * @param companyBids All of the company's bids
+     * @param zone The time zone the comparison periods are calculated in
+     * @return The statistics
+     */
+    public BidStatisticsDTO getBidStatistics(List<Bid> companyBids, ZoneId zone) {
         // Calculate success rate
         double successRate = 0;
         if (!companyBids.isEmpty()) {
@@ -211,37 +177,17 @@ public class BidAnalyticsService {
                 .filter(bid -> "pending".equals(bid.getStatus()))
                 .count();
 
-        // Get previous period statistics for comparison
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime oneMonthAgo = now.minusMonths(1);
-        LocalDateTime twoMonthsAgo = now.minusMonths(2);
-
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
-
-        // Current period bids
-        List<Bid> currentPeriodBids = companyBids.stream()
-                .filter(bid -> {
-                    LocalDateTime bidDate = LocalDateTime.parse(bid.getCreatedAt(), formatter);
-                    return bidDate.isAfter(oneMonthAgo) && bidDate.isBefore(now);
-                })
-                .collect(Collectors.toList());
-
-        // Previous period bids
-        List<Bid> previousPeriodBids = companyBids.stream()
-                .filter(bid -> {
-                    LocalDateTime bidDate = LocalDateTime.parse(bid.getCreatedAt(), formatter);
-                    return bidDate.isAfter(twoMonthsAgo) && bidDate.isBefore(oneMonthAgo);
-                })
-                .collect(Collectors.toList());
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("activeBids", activeBids);
-        result.put("pendingBids", pendingBids);
-        result.put("totalBids", totalBids);
-        result.put("successRate", successRate);
-        result.put("averageBid", averageBid);
+        // Split the last two months into the previous and current period in one pass
+        ZonedDateTime currentDate = ZonedDateTime.now(zone);
+        List<List<Bid>> periods = TimeBuckets.between(
+                currentDate.minusMonths(2), currentDate.minusMonths(1), currentDate)
+                .group(companyBids, Bid::getCreatedAt);
+        List<Bid> previousPeriodBids = periods.get(0);
+        List<Bid> currentPeriodBids = periods.get(1);
 
         // Calculate period-over-period changes
+        Double activeBidsChange = null;
+        Double pendingBidsChange = null;
         if (!currentPeriodBids.isEmpty() && !previousPeriodBids.isEmpty()) {
             long currentActiveBids = currentPeriodBids.stream()
                     .filter(bid -> "accepted".equals(bid.getStatus()))
@@ -249,7 +195,7 @@ public class BidAnalyticsService {
             long previousActiveBids = previousPeriodBids.stream()
                     .filter(bid -> "accepted".equals(bid.getStatus()))
                     .count();
-            result.put("activeBidsChange", calculatePercentageChange(previousActiveBids, currentActiveBids));
+            activeBidsChange = calculatePercentageChange(previousActiveBids, currentActiveBids);
 
             long currentPendingBids = currentPeriodBids.stream()
                     .filter(bid -> "pending".equals(bid.getStatus()))
@@ -257,10 +203,11 @@ public class BidAnalyticsService {
             long previousPendingBids = previousPeriodBids.stream()
                     .filter(bid -> "pending".equals(bid.getStatus()))
                     .count();
-            result.put("pendingBidsChange", calculatePercentageChange(previousPendingBids, currentPendingBids));
+            pendingBidsChange = calculatePercentageChange(previousPendingBids, currentPendingBids);
         }
 
-        return result;
+        return new BidStatisticsDTO(activeBids, pendingBids, totalBids, successRate, averageBid,
+                activeBidsChange, pendingBidsChange);
     }
 
     private double calculatePercentageChange(long previous, long current) {
@@ -273,26 +220,30 @@ public class BidAnalyticsService {
     /**
      * Get performance metrics
      * @param companyId The company ID
-     * @return Map with performance metrics
+     * @return The performance metrics
      */
-    public Map<String, Object> getPerformanceMetrics(String companyId) {
+    public PerformanceMetricsDTO getPerformanceMetrics(String companyId) {
         List<Bid> companyBids = bidRepository.findByCompanyId(companyId);
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
+        return getPerformanceMetrics(companyBids, bidJoinService.tendersFor(companyBids));
+    }
 
+    /**
+     * Get performance metrics from already loaded bids and tenders
+     * @param companyBids All of the company's bids
+     * @param tenders The tenders of the bids, keyed by tender ID
+     * @return The performance metrics
+     */
+    public PerformanceMetricsDTO getPerformanceMetrics(List<Bid> companyBids, Map<String, Tender> tenders) {
         // Calculate average response time (time between tender creation and bid submission)
         double averageResponseTime = 0;
         int responseTimeCount = 0;
 
         for (Bid bid : companyBids) {
             // Get associated tender for this bid
-            Optional<Tender> tenderOpt = tenderRepository.findById(bid.getTenderId());
-            if (tenderOpt.isPresent()) {
-                Tender tender = tenderOpt.get();
-                LocalDateTime tenderCreationDate = LocalDateTime.parse(tender.getCreatedAt(), formatter);
-                LocalDateTime bidCreationDate = LocalDateTime.parse(bid.getCreatedAt(), formatter);
-
+            Tender tender = tenders.get(bid.getTenderId());
+            if (tender != null) {
                 // Calculate days between tender creation and bid submission
-                long daysBetween = java.time.Duration.between(tenderCreationDate, bidCreationDate).toDays();
+                long daysBetween = Duration.between(tender.getCreatedAt(), bid.getCreatedAt()).toDays();
                 averageResponseTime += daysBetween;
                 responseTimeCount++;
             }
@@ -332,9 +283,8 @@ public class BidAnalyticsService {
         int pricingCount = 0;
 
         for (Bid bid : companyBids) {
-            Optional<Tender> tenderOpt = tenderRepository.findById(bid.getTenderId());
-            if (tenderOpt.isPresent()) {
-                Tender tender = tenderOpt.get();
+            Tender tender = tenders.get(bid.getTenderId());
+            if (tender != null) {
                 if (tender.getBudget() > 0) {
                     double bidRatio = bid.getAmount() / tender.getBudget();
                     // Score higher for bids closer to budget (max 10 points)
@@ -368,9 +318,8 @@ public class BidAnalyticsService {
         int markupCount = 0;
 
         for (Bid bid : companyBids) {
-            Optional<Tender> tenderOpt = tenderRepository.findById(bid.getTenderId());
-            if (tenderOpt.isPresent()) {
-                Tender tender = tenderOpt.get();
+            Tender tender = tenders.get(bid.getTenderId());
+            if (tender != null) {
                 if (tender.getBudget() > 0) {
                     double markup = ((bid.getAmount() - tender.getBudget()) / tender.getBudget()) * 100;
                     averageMarkup += markup;
@@ -383,29 +332,25 @@ public class BidAnalyticsService {
             averageMarkup /= markupCount;
         }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("averageResponseTime", Math.round(averageResponseTime * 10.0) / 10.0); // Round to 1 decimal
-        result.put("winRateByValue", Math.round(winRateByValue * 10.0) / 10.0);
-        result.put("competitiveIndex", Math.round(competitiveIndex * 10.0) / 10.0);
-        result.put("averageMarkup", Math.round(averageMarkup * 10.0) / 10.0);
-
-        return result;
+        return new PerformanceMetricsDTO(
+                Math.round(averageResponseTime * 10.0) / 10.0, // Round to 1 decimal
+                Math.round(winRateByValue * 10.0) / 10.0,
+                Math.round(competitiveIndex * 10.0) / 10.0,
+                Math.round(averageMarkup * 10.0) / 10.0);
     }
 
     /**
      * Get bid trends data by category
      * @param timeframe The timeframe to analyze (day, week, month, quarter, year)
+     * @param zone The time zone the periods are calculated in
      * @return List of bid trend data objects with current and previous period comparisons
      */
-    public List<Map<String, Object>> getBidTrends(String timeframe) {
-        List<Bid> allBids = bidRepository.findAll();
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
-
+    public List<BidTrendDTO> getBidTrends(String timeframe, ZoneId zone) {
         // Define the current and previous time periods based on the timeframe parameter
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime currentPeriodStart;
-        LocalDateTime previousPeriodStart;
-        LocalDateTime previousPeriodEnd;
+        ZonedDateTime now = ZonedDateTime.now(zone);
+        ZonedDateTime currentPeriodStart;
+        ZonedDateTime previousPeriodStart;
+        ZonedDateTime previousPeriodEnd;
 
         switch (timeframe.toLowerCase()) {
             case "day":
@@ -436,95 +381,67 @@ public class BidAnalyticsService {
                 break;
         }
 
-        // Filter bids for current period
-        List<Bid> currentPeriodBids = allBids.stream()
-                .filter(bid -> {
-                    LocalDateTime bidDate = LocalDateTime.parse(bid.getCreatedAt(), formatter);
-                    return bidDate.isAfter(currentPeriodStart) && bidDate.isBefore(now);
-                })
-                .collect(Collectors.toList());
-
-        // Filter bids for previous period
-        List<Bid> previousPeriodBids = allBids.stream()
-                .filter(bid -> {
-                    LocalDateTime bidDate = LocalDateTime.parse(bid.getCreatedAt(), formatter);
-                    return bidDate.isAfter(previousPeriodStart) && bidDate.isBefore(previousPeriodEnd);
-                })
-                .collect(Collectors.toList());
+        TimeBuckets periods = TimeBuckets.between(previousPeriodStart, currentPeriodStart, now);
 
         // Define categories based on company types
         List<String> categories = Arrays.asList("Commercial", "Residential", "Industrial");
-        List<Map<String, Object>> result = new ArrayList<>();
+        long[][] counts; // Bid count per period (previous, current) and category
+
+        if (columnarAnalyticsService != null && columnarAnalyticsService.isReady()) {
+            // Scan the in-memory columnar store
+            counts = columnarAnalyticsService.countBidsByCompanyType(categories, periods);
+        } else {
+            // Load the bids of both periods with an indexed range query
+            List<Bid> periodBids = bidRepository.findByCreatedAtBetween(Range.rightOpen(periods.getFrom(), periods.getTo()));
+
+            // Resolve the bidding companies of both periods in one query
+            Map<String, Company> companies = bidJoinService.companiesFor(periodBids);
+
+            // Count bids per period and category in a single pass
+            counts = new long[periods.size()][categories.size()];
+            for (Bid bid : periodBids) {
+                int period = periods.indexOf(bid.getCreatedAt());
+                Company company = companies.get(bid.getCompanyId());
+                int category = company != null ? categories.indexOf(company.getType()) : -1;
+                if (period >= 0 && category >= 0) {
+                    counts[period][category]++;
+                }
+            }
+        }
+
+        List<BidTrendDTO> result = new ArrayList<>();
 
         // Calculate trends for each category
-        for (String category : categories) {
-            long currentCount = countBidsByCompanyType(currentPeriodBids, category);
-            long previousCount = countBidsByCompanyType(previousPeriodBids, category);
+        for (int i = 0; i < categories.size(); i++) {
+            String category = categories.get(i);
+            long currentCount = counts[1][i];
+            long previousCount = counts[0][i];
             double percentageChange = previousCount > 0
                 ? ((currentCount - previousCount) / (double) previousCount) * 100
                 : 0;
 
-            Map<String, Object> categoryData = new HashMap<>();
-            categoryData.put("category", category);
-            categoryData.put("currentMonthBids", currentCount);
-            categoryData.put("previousMonthBids", previousCount);
-            categoryData.put("percentageChange", Math.round(percentageChange * 10.0) / 10.0);
-            result.add(categoryData);
+            result.add(new BidTrendDTO(category, currentCount, previousCount, Math.round(percentageChange * 10.0) / 10.0));
         }
 
         return result;
     }
 
-    /**
-     * Helper method to count bids by company type
-     */
-    private long countBidsByCompanyType(List<Bid> bids, String companyType) {
-        return bids.stream()
-                .filter(bid -> {
-                    Optional<Company> company = companyRepository.findById(bid.getCompanyId());
-                    return company.map(c -> c.getType().equals(companyType)).orElse(false);
-                })
-                .count();
-    }
-
     /**
      * Get project timeline data by project type
      * @param projectType The type of project to analyze (optional)
-     * @return Map with timeline data for projects
+     * @return Timeline data for projects
      */
-    public Map<String, Object> getProjectTimelines(String projectType) {
-        // Get all tenders (projects)
-        List<Tender> allTenders = tenderRepository.findAll();
-
-        // Filter by project type if specified
-        List<Tender> filteredTenders = allTenders;
-        if (projectType != null && !projectType.isEmpty() && !projectType.equalsIgnoreCase("all")) {
-            // Filter based on winning bid's company type
-            filteredTenders = allTenders.stream()
-                    .filter(tender -> {
-                        if (tender.getBidIds() != null && !tender.getBidIds().isEmpty()) {
-                            List<Bid> bids = bidRepository.findAllById(tender.getBidIds());
-                            Optional<Bid> winningBid = bids.stream()
-                                    .filter(bid -> "accepted".equals(bid.getStatus()))
-                                    .findFirst();
-
-                            if (winningBid.isPresent()) {
-                                Optional<Company> company = companyRepository.findById(winningBid.get().getCompanyId());
-                                return company.map(c -> c.getType().equals(projectType)).orElse(false);
-                            }
-                        }
-                        return false;
-                    })
-                    .collect(Collectors.toList());
-        }
-
-        // Calculate average timeline metrics
-        Map<String, Object> result = new HashMap<>();
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
-
+    public ProjectTimelinesDTO getProjectTimelines(String projectType) {
         // Define categories based on company types
         List<String> categories = Arrays.asList("Commercial", "Residential", "Industrial");
-        Map<String, List<Map<String, Object>>> projectsByCategory = new HashMap<>();
+
+        // Get the awarded tenders (projects), filtered by the winning company's type if specified
+        List<String> companyTypes = categories;
+        if (projectType != null && !projectType.isEmpty() && !projectType.equalsIgnoreCase("all")) {
+            companyTypes = Collections.singletonList(projectType);
+        }
+        List<Tender> filteredTenders = tenderRepository.findByWinningCompanyTypeIn(companyTypes);
+        Map<String, List<ProjectTimelinesDTO.ProjectDTO>> projectsByCategory = new HashMap<>();
 
         // Initialize category maps
         for (String category : categories) {
@@ -533,168 +450,95 @@ public class BidAnalyticsService {
 
         // Process each tender and categorize by winning company's type
         for (Tender tender : filteredTenders) {
-            if (tender.getBidIds() != null && !tender.getBidIds().isEmpty()) {
-                List<Bid> bids = bidRepository.findAllById(tender.getBidIds());
-                Optional<Bid> winningBid = bids.stream()
-                        .filter(bid -> "accepted".equals(bid.getStatus()))
-                        .findFirst();
-
-                if (winningBid.isPresent()) {
-                    Optional<Company> company = companyRepository.findById(winningBid.get().getCompanyId());
-                    if (company.isPresent()) {
-                        String companyType = company.get().getType();
-                        if (categories.contains(companyType)) {
-                            // Calculate project metrics
-                            LocalDateTime tenderCreationDate = LocalDateTime.parse(tender.getCreatedAt(), formatter);
-                            LocalDateTime proposedDeadline = LocalDateTime.parse(winningBid.get().getProposedDeadline(), formatter);
-                            long durationDays = java.time.Duration.between(tenderCreationDate, proposedDeadline).toDays();
-
-                            Map<String, Object> projectData = new HashMap<>();
-                            projectData.put("name", tender.getTitle());
-                            projectData.put("duration", durationDays);
-                            projectData.put("budget", tender.getBudget());
-                            projectData.put("actualCost", winningBid.get().getAmount());
-                            projectData.put("budgetVariance",
-                                ((winningBid.get().getAmount() - tender.getBudget()) / tender.getBudget()) * 100);
-
-                            projectsByCategory.get(companyType).add(projectData);
-                        }
-                    }
-                }
+            String companyType = tender.getWinningCompanyType();
+            if (categories.contains(companyType)) {
+                // Calculate project metrics
+                long durationDays = Duration.between(tender.getCreatedAt(), tender.getAwardedDeadline()).toDays();
+
+                double budgetVariance = ((tender.getAwardedAmount() - tender.getBudget()) / tender.getBudget()) * 100;
+
+                projectsByCategory.get(companyType).add(new ProjectTimelinesDTO.ProjectDTO(tender.getTitle(),
+                        durationDays, tender.getBudget(), tender.getAwardedAmount(), budgetVariance));
             }
         }
 
         // Calculate summary metrics for each category
-        Map<String, Map<String, Object>> categoryStats = new HashMap<>();
+        Map<String, ProjectTimelinesDTO.CategoryDTO> categoryStats = new HashMap<>();
 
         for (String category : categories) {
-            List<Map<String, Object>> categoryProjects = projectsByCategory.get(category);
-            Map<String, Object> stats = new HashMap<>();
+            List<ProjectTimelinesDTO.ProjectDTO> categoryProjects = projectsByCategory.get(category);
 
             if (!categoryProjects.isEmpty()) {
                 // Calculate averages
                 double avgDuration = categoryProjects.stream()
-                        .mapToLong(p -> ((Number) p.get("duration")).longValue())
+                        .mapToLong(ProjectTimelinesDTO.ProjectDTO::duration)
                         .average()
                         .orElse(0);
 
                 double avgBudgetVariance = categoryProjects.stream()
-                        .mapToDouble(p -> ((Number) p.get("budgetVariance")).doubleValue())
+                        .mapToDouble(ProjectTimelinesDTO.ProjectDTO::budgetVariance)
                         .average()
                         .orElse(0);
 
-                stats.put("averageDuration", Math.round(avgDuration * 10.0) / 10.0);
-                stats.put("averageBudgetVariance", Math.round(avgBudgetVariance * 10.0) / 10.0);
-                stats.put("totalProjects", categoryProjects.size());
+                categoryStats.put(category, new ProjectTimelinesDTO.CategoryDTO(
+                        Math.round(avgDuration * 10.0) / 10.0,
+                        Math.round(avgBudgetVariance * 10.0) / 10.0,
+                        categoryProjects.size()));
             } else {
-                stats.put("averageDuration", 0.0);
-                stats.put("averageBudgetVariance", 0.0);
-                stats.put("totalProjects", 0);
+                categoryStats.put(category, new ProjectTimelinesDTO.CategoryDTO(0.0, 0.0, 0));
             }
-
-            categoryStats.put(category, stats);
         }
 
-        result.put("categories", categoryStats);
-        result.put("projectsByCategory", projectsByCategory);
-
-        return result;
+        return new ProjectTimelinesDTO(categoryStats, projectsByCategory);
     }
 
     /**
      * Get client preferences data
-     * @return Map with client preference data
+     * @return Client preference data
      */
-    public Map<String, Object> getClientPreferences() {
-        Map<String, Object> result = new HashMap<>();
-
-        // Get all tenders from the database
-        List<Tender> allTenders = tenderRepository.findAll();
-
+    public ClientPreferencesDTO getClientPreferences() {
         // Define categories based on company types
         List<String> categories = Arrays.asList("Commercial", "Residential", "Industrial");
 
-        // Count tenders by category
+        // Get the tenders awarded to a company of one of the categories
+        List<Tender> awardedTenders = tenderRepository.findByWinningCompanyTypeIn(categories);
+
+        // Count tenders by the winning company's type
         Map<String, Integer> categoryCounts = new HashMap<>();
         for (String category : categories) {
             categoryCounts.put(category, 0);
         }
-
-        // For each tender, find the winning bid and get the company type
-        for (Tender tender : allTenders) {
-            if (tender.getBidIds() != null && !tender.getBidIds().isEmpty()) {
-                List<Bid> bids = bidRepository.findAllById(tender.getBidIds());
-                Optional<Bid> winningBid = bids.stream()
-                        .filter(bid -> "accepted".equals(bid.getStatus()))
-                        .findFirst();
-
-                if (winningBid.isPresent()) {
-                    Optional<Company> company = companyRepository.findById(winningBid.get().getCompanyId());
-                    if (company.isPresent()) {
-                        String companyType = company.get().getType();
-                        if (categories.contains(companyType)) {
-                            categoryCounts.merge(companyType, 1, Integer::sum);
-                        }
-                    }
-                }
-            }
+        for (Tender tender : awardedTenders) {
+            categoryCounts.merge(tender.getWinningCompanyType(), 1, Integer::sum);
         }
 
         // Calculate total count for percentage calculation
         int totalCount = categoryCounts.values().stream().mapToInt(Integer::intValue).sum();
 
         // Get tenders from previous period (3 months ago) for trend calculation
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime threeMonthsAgo = now.minusMonths(3);
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
+        Instant threeMonthsAgo = ZonedDateTime.now().minusMonths(3).toInstant();
 
         Map<String, Integer> previousCategoryCounts = new HashMap<>();
         for (String category : categories) {
             previousCategoryCounts.put(category, 0);
         }
 
-        // Filter tenders from previous period
-        List<Tender> previousTenders = allTenders.stream()
-            .filter(tender -> {
-                LocalDateTime tenderDate = LocalDateTime.parse(tender.getCreatedAt(), formatter);
-                return tenderDate.isBefore(threeMonthsAgo);
-            })
-            .collect(Collectors.toList());
-
         // Categorize previous period tenders based on winning company type
-        for (Tender tender : previousTenders) {
-            if (tender.getBidIds() != null && !tender.getBidIds().isEmpty()) {
-                List<Bid> bids = bidRepository.findAllById(tender.getBidIds());
-                Optional<Bid> winningBid = bids.stream()
-                        .filter(bid -> "accepted".equals(bid.getStatus()))
-                        .findFirst();
-
-                if (winningBid.isPresent()) {
-                    Optional<Company> company = companyRepository.findById(winningBid.get().getCompanyId());
-                    if (company.isPresent()) {
-                        String companyType = company.get().getType();
-                        if (categories.contains(companyType)) {
-                            previousCategoryCounts.merge(companyType, 1, Integer::sum);
-                        }
-                    }
-                }
+        for (Tender tender : awardedTenders) {
+            if (tender.getCreatedAt().isBefore(threeMonthsAgo)) {
+                previousCategoryCounts.merge(tender.getWinningCompanyType(), 1, Integer::sum);
             }
         }
 
         // Create preference data with real values
-        List<Map<String, Object>> preferenceData = new ArrayList<>();
+        List<ClientPreferencesDTO.PreferenceDTO> preferenceData = new ArrayList<>();
 
         for (String category : categories) {
-            Map<String, Object> categoryData = new HashMap<>();
-            categoryData.put("name", category);
-
             int count = categoryCounts.get(category);
             int previousCount = previousCategoryCounts.get(category);
 
             // Calculate percentage value
             double value = totalCount > 0 ? (double) count / totalCount * 100 : 0;
-            categoryData.put("value", Math.round(value));
-            categoryData.put("count", count);
 
             // Calculate trend
             String trend = "0%";
@@ -702,51 +546,33 @@ public class BidAnalyticsService {
                 double trendValue = ((double) count - previousCount) / previousCount * 100;
                 trend = (trendValue >= 0 ? "+" : "") + Math.round(trendValue) + "%";
             }
-            categoryData.put("trend", trend);
 
-            preferenceData.add(categoryData);
+            preferenceData.add(new ClientPreferencesDTO.PreferenceDTO(category, Math.round(value), count, trend));
         }
 
-        result.put("preferenceData", preferenceData);
-        return result;
+        return new ClientPreferencesDTO(preferenceData);
     }
 
     /**
      * Get tender activity statistics
-     * @return Map with tender activity data
+     * @param zone The time zone the months are calculated in
+     * @return Tender activity data
      */
-    public Map<String, Object> getTenderActivity() {
-        Map<String, Object> result = new HashMap<>();
-
-        // Get all tenders from the database
-        List<Tender> allTenders = tenderRepository.findAll();
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
-
-        // Define the last 6 months for analysis
-        LocalDateTime now = LocalDateTime.now();
-        List<String> months = new ArrayList<>();
-        List<LocalDateTime> monthStarts = new ArrayList<>();
-        List<LocalDateTime> monthEnds = new ArrayList<>();
-
-        // Generate month labels and date ranges
-        for (int i = 5; i >= 0; i--) {
-            LocalDateTime monthStart = now.minusMonths(i).withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-            LocalDateTime monthEnd;
-            if (i > 0) {
-                monthEnd = now.minusMonths(i-1).withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).minusSeconds(1);
-            } else {
-                // For current month, use current date as end
-                monthEnd = now;
-            }
+    public TenderActivityDTO getTenderActivity(ZoneId zone) {
+        // Define the last 6 calendar months for analysis
+        TimeBuckets months = TimeBuckets.last(6, TimeBuckets.Granularity.MONTH, ZonedDateTime.now(zone));
 
-            String monthLabel = monthStart.format(DateTimeFormatter.ofPattern("MMM"));
-            months.add(monthLabel);
-            monthStarts.add(monthStart);
-            monthEnds.add(monthEnd);
+        // Count tenders created in each month in a single pass
+        long[] monthCounts;
+        if (columnarAnalyticsService != null && columnarAnalyticsService.isReady()) {
+            monthCounts = columnarAnalyticsService.countTenders(months);
+        } else {
+            // Load only the tenders created within the analysed months
+            List<Tender> recentTenders = tenderRepository.findByCreatedAtGreaterThanEqual(months.getFrom());
+            monthCounts = months.count(recentTenders, Tender::getCreatedAt);
         }
 
-        // Count tenders by month
-        List<Integer> tenderCounts = new ArrayList<>();
+        int[] tenderCounts = new int[months.size()];
         List<String> growthRates = new ArrayList<>();
 
         // Previous month counts for growth calculation
@@ -754,17 +580,9 @@ public class BidAnalyticsService {
 
         // Process each month
         for (int i = 0; i < months.size(); i++) {
-            final int index = i; // Need final variable for lambda
-
-            // Count tenders created in this month
-            long count = allTenders.stream()
-                .filter(tender -> {
-                    LocalDateTime tenderDate = LocalDateTime.parse(tender.getCreatedAt(), formatter);
-                    return !tenderDate.isBefore(monthStarts.get(index)) && !tenderDate.isAfter(monthEnds.get(index));
-                })
-                .count();
+            long count = monthCounts[i];
 
-            tenderCounts.add((int) count);
+            tenderCounts[i] = (int) count;
 
             // Calculate growth rate compared to previous month
             String growth = "0%";
@@ -778,26 +596,21 @@ public class BidAnalyticsService {
         }
 
         // Create tender data with real values
-        List<Map<String, Object>> tenderData = new ArrayList<>();
+        List<TenderActivityDTO.MonthDTO> tenderData = new ArrayList<>();
 
         for (int i = 0; i < months.size(); i++) {
-            Map<String, Object> entry = new HashMap<>();
-            entry.put("month", months.get(i));
-            entry.put("tenders", tenderCounts.get(i));
-            entry.put("growth", growthRates.get(i));
-            tenderData.add(entry);
+            tenderData.add(new TenderActivityDTO.MonthDTO(months.label(i), months.key(i), tenderCounts[i], growthRates.get(i)));
         }
 
-        result.put("tenderData", tenderData);
-        return result;
+        return new TenderActivityDTO(tenderData);
     }
 
     /**
      * Get detailed bid analytics by category for a company
      * @param companyId The company ID
-     * @return Map with categories and their bid statistics
+     * @return Categories and their bid statistics
      */
-    public Map<String, Object> getBidAnalytics(String companyId) {
+    public BidAnalyticsDTO getBidAnalytics(String companyId) {
         // Get all bids for the company
         List<Bid> companyBids = bidRepository.findByCompanyId(companyId);
 
@@ -806,17 +619,20 @@ public class BidAnalyticsService {
         if (!companyOpt.isPresent()) {
             throw new RuntimeException("Company not found with id " + companyId);
         }
-        String companyType = companyOpt.get().getType();
 
-        // Get all tenders for these bids
-        Set<String> tenderIds = companyBids.stream()
-                .map(Bid::getTenderId)
-                .collect(Collectors.toSet());
-        List<Tender> relatedTenders = tenderRepository.findAllById(tenderIds);
+        // Get all tenders for these bids, keyed by tender ID for easy lookup
+        return getBidAnalytics(companyOpt.get(), companyBids, bidJoinService.tendersFor(companyBids));
+    }
 
-        // Create a map of tender ID to tender for easy lookup
-        Map<String, Tender> tenderMap = relatedTenders.stream()
-                .collect(Collectors.toMap(Tender::getId, tender -> tender));
+    /**
+     * Get detailed bid analytics by category from already loaded bids and tenders
+     * @param company The company
+     * @param companyBids All of the company's bids
+     * @param tenderMap The tenders of the bids, keyed by tender ID
+     * @return Categories and their bid statistics
+     */
+    public BidAnalyticsDTO getBidAnalytics(Company company, List<Bid> companyBids, Map<String, Tender> tenderMap) {
+        String companyType = company.getType();
 
         // Group bids by project category
         Map<String, List<Bid>> bidsByCategory = new HashMap<>();
@@ -841,7 +657,7 @@ public class BidAnalyticsService {
         }
 
         // Calculate statistics for each category
-        Map<String, Map<String, Object>> categoryStats = new HashMap<>();
+        Map<String, BidAnalyticsDTO.CategoryDTO> categoryStats = new HashMap<>();
         int totalProjects = 0;
         int totalBids = 0;
         double overallMinBid = Double.MAX_VALUE;
@@ -859,14 +675,8 @@ public class BidAnalyticsService {
                         .mapToDouble(Bid::getAmount)
                         .summaryStatistics();
 
-                Map<String, Object> stats = new HashMap<>();
-                stats.put("count", categoryTenders.size());
-                stats.put("totalBids", categoryBids.size());
-                stats.put("minBid", bidStats.getMin());
-                stats.put("maxBid", bidStats.getMax());
-                stats.put("avgBid", bidStats.getAverage());
-
-                categoryStats.put(category, stats);
+                categoryStats.put(category, new BidAnalyticsDTO.CategoryDTO(categoryTenders.size(), categoryBids.size(),
+                        bidStats.getMin(), bidStats.getMax(), bidStats.getAverage()));
 
                 // Update overall statistics
                 totalProjects += categoryTenders.size();
@@ -877,29 +687,16 @@ public class BidAnalyticsService {
                 overallBidCount += categoryBids.size();
             } else {
                 // Initialize empty category stats
-                Map<String, Object> stats = new HashMap<>();
-                stats.put("count", 0);
-                stats.put("totalBids", 0);
-                stats.put("minBid", 0.0);
-                stats.put("maxBid", 0.0);
-                stats.put("avgBid", 0.0);
-                categoryStats.put(category, stats);
+                categoryStats.put(category, new BidAnalyticsDTO.CategoryDTO(0, 0, 0.0, 0.0, 0.0));
             }
         }
 
         // Create summary statistics
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("totalProjects", totalProjects);
-        summary.put("totalBids", totalBids);
-        summary.put("overallMinBid", overallMinBid == Double.MAX_VALUE ? 0 : overallMinBid);
-        summary.put("overallMaxBid", overallMaxBid);
-        summary.put("overallAvgBid", overallBidCount > 0 ? overallTotalBid / overallBidCount : 0);
-
-        // Prepare final result
-        Map<String, Object> result = new HashMap<>();
-        result.put("categories", categoryStats);
-        result.put("summary", summary);
+        BidAnalyticsDTO.SummaryDTO summary = new BidAnalyticsDTO.SummaryDTO(totalProjects, totalBids,
+                overallMinBid == Double.MAX_VALUE ? 0 : overallMinBid,
+                overallMaxBid,
+                overallBidCount > 0 ? overallTotalBid / overallBidCount : 0);
 
-        return result;
+        return new BidAnalyticsDTO(categoryStats, summary);
     }
 }
\ No newline at end of file
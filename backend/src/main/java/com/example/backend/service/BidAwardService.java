@@ -0,0 +1,164 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Bid;
+import com.example.backend.model.Tender;
+import com.example.backend.repository.BidRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Awards closed tenders: the lowest bid is accepted and all other bids are
+ * rejected with one bulk write, instead of saving every bid of the tender.
+ */
+@Service
+public class BidAwardService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private BidRollupService bidRollupService;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private CompanyLeaderboard companyLeaderboard;
+
+    @Autowired
+    private TenderAwardService tenderAwardService;
+
+    private final Timer awardTimer;
+
+    public BidAwardService(MeterRegistry meterRegistry) {
+        this.awardTimer = Timer.builder("tenders.award")
+                .description("Time to accept the winning bid and reject the others of a closed tender")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Accept the lowest bid of a tender and reject the others. The award outcome
+     * is set on the given tender, which the caller saves.
+     * @param tender The tender being closed
+     * @return The bids of the tender, carrying their new status
+     */
+    public List<Bid> awardLowestBid(Tender tender) {
+        long start = System.nanoTime();
+        List<Bid> bids = bidRepository.findByTenderId(tender.getId());
+
+        // The first of equally low bids wins
+        Bid winningBid = bids.stream().min(Comparator.comparingDouble(Bid::getAmount)).orElse(null);
+        if (winningBid == null) {
+            return bids;
+        }
+        List<String> rejectedIds = new ArrayList<>();
+        for (Bid bid : bids) {
+            if (bid != winningBid) {
+                rejectedIds.add(bid.getId());
+            }
+        }
+
+        // Write all statuses in one round trip
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Bid.class);
+        bulk.updateOne(query(where("_id").is(winningBid.getId())), Update.update("status", "accepted"));
+        if (!rejectedIds.isEmpty()) {
+            bulk.updateMulti(query(where("_id").in(rejectedIds)), Update.update("status", "rejected"));
+        }
+        bulk.execute();
+
+        // Keep the derived counters in step with the changed statuses
+        for (Bid bid : bids) {
+            String previousStatus = bid.getStatus();
+            bid.setStatus(bid == winningBid ? "accepted" : "rejected");
+            bidRollupService.recordStatusChange(bid, previousStatus);
+            dashboardCounterService.recordBidStatusChange(bid, previousStatus);
+            companyLeaderboard.recordBidStatusChange(bid, previousStatus);
+        }
+
+        // Record the award outcome on the tender
+        tenderAwardService.applyAward(tender, winningBid);
+        awardTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return bids;
+    }
+
+    /**
+     * Accept the lowest bid of each of a batch of closed tenders and reject the
+     * others, with one read and one bulk write for the bids of the whole batch.
+     * The award outcome is set on the given tenders and written.
+     * @param tenders The tenders being closed
+     * @return The bids of each tender by tender ID, carrying their new status
+     */
+    public Map<String, List<Bid>> awardLowestBids(List<Tender> tenders) {
+        Map<String, List<Bid>> bidsByTender = new HashMap<>();
+        for (Tender tender : tenders) {
+            bidsByTender.put(tender.getId(), new ArrayList<>());
+        }
+        for (Bid bid : bidRepository.findByTenderIdIn(bidsByTender.keySet())) {
+            bidsByTender.get(bid.getTenderId()).add(bid);
+        }
+
+        // The first of equally low bids wins
+        Map<String, Bid> winningBids = new HashMap<>();
+        List<String> rejectedIds = new ArrayList<>();
+        bidsByTender.forEach((tenderId, bids) -> bids.stream()
+                .min(Comparator.comparingDouble(Bid::getAmount))
+                .ifPresent(winningBid -> {
+                    winningBids.put(tenderId, winningBid);
+                    for (Bid bid : bids) {
+                        if (bid != winningBid) {
+                            rejectedIds.add(bid.getId());
+                        }
+                    }
+                }));
+        if (winningBids.isEmpty()) {
+            return bidsByTender;
+        }
+
+        // Write all statuses of the batch in one round trip
+        List<String> acceptedIds = winningBids.values().stream().map(Bid::getId).toList();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Bid.class);
+        bulk.updateMulti(query(where("_id").in(acceptedIds)), Update.update("status", "accepted"));
+        if (!rejectedIds.isEmpty()) {
+            bulk.updateMulti(query(where("_id").in(rejectedIds)), Update.update("status", "rejected"));
+        }
+        bulk.execute();
+
+        // Keep the derived counters in step with the changed statuses
+        List<Bid> changed = new ArrayList<>();
+        Map<String, String> previousStatuses = new HashMap<>();
+        for (Map.Entry<String, List<Bid>> entry : bidsByTender.entrySet()) {
+            Bid winningBid = winningBids.get(entry.getKey());
+            for (Bid bid : entry.getValue()) {
+                String previousStatus = bid.getStatus();
+                bid.setStatus(bid == winningBid ? "accepted" : "rejected");
+                bidRollupService.recordStatusChange(bid, previousStatus);
+                companyLeaderboard.recordBidStatusChange(bid, previousStatus);
+                changed.add(bid);
+                previousStatuses.put(bid.getId(), previousStatus);
+            }
+        }
+        dashboardCounterService.recordBidStatusChanges(changed, previousStatuses);
+
+        // Record the award outcomes on the tenders
+        tenderAwardService.recordAwards(tenders, winningBids);
+        return bidsByTender;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Bid;
+import com.example.backend.model.Company;
+import com.example.backend.model.Tender;
+import com.example.backend.repository.CompanyRepository;
+import com.example.backend.repository.TenderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the tenders and companies referenced by a batch of
+ * documents with one $in query per collection instead of one findById per row.
+ */
+@Service
+public class BidJoinService {
+
+    @Autowired
+    private TenderRepository tenderRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Get the tenders referenced by the given bids
+     * @param bids The bids to resolve
+     * @return Map of tender ID to tender
+     */
+    public Map<String, Tender> tendersFor(Collection<Bid> bids) {
+        return tendersById(bids.stream()
+                .map(Bid::getTenderId)
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Get the tenders referenced by the given bids, failing if the query runs longer than the given time
+     * @param bids The bids to resolve
+     * @param maxTime The server-side time limit of the query
+     * @return Map of tender ID to tender
+     */
+    public Map<String, Tender> tendersFor(Collection<Bid> bids, Duration maxTime) {
+        Set<String> ids = nonNull(bids.stream()
+                .map(Bid::getTenderId)
+                .collect(Collectors.toSet()));
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        return index(mongoTemplate.find(new Query(Criteria.where("_id").in(ids)).maxTime(maxTime), Tender.class),
+                Tender::getId);
+    }
+
+    /**
+     * Get the companies that submitted the given bids
+     * @param bids The bids to resolve
+     * @return Map of company ID to company
+     */
+    public Map<String, Company> companiesFor(Collection<Bid> bids) {
+        return companiesById(bids.stream()
+                .map(Bid::getCompanyId)
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Get tenders by ID with a single query
+     * @param tenderIds The tender IDs
+     * @return Map of tender ID to tender, missing IDs are absent
+     */
+    public Map<String, Tender> tendersById(Collection<String> tenderIds) {
+        Set<String> ids = nonNull(tenderIds);
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        return index(tenderRepository.findAllById(ids), Tender::getId);
+    }
+
+    /**
+     * Get companies by ID with a single query
+     * @param companyIds The company IDs
+     * @return Map of company ID to company, missing IDs are absent
+     */
+    public Map<String, Company> companiesById(Collection<String> companyIds) {
+        Set<String> ids = nonNull(companyIds);
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        return index(companyRepository.findAllById(ids), Company::getId);
+    }
+
+    private Set<String> nonNull(Collection<String> ids) {
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private <T> Map<String, T> index(Iterable<T> documents, Function<T, String> idGetter) {
+        Map<String, T> result = new HashMap<>();
+        for (T document : documents) {
+            result.put(idGetter.apply(document), document);
+        }
+        return result;
+    }
+}
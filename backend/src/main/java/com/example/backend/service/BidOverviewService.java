@@ -0,0 +1,140 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Bid;
+import com.example.backend.model.Company;
+import com.example.backend.model.Tender;
+import com.example.backend.repository.CompanyRepository;
+import com.example.backend.util.TimeBuckets;
+import com.mongodb.MongoExecutionTimeoutException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Computes all company dashboard analytics in one call. The company, its bids and
+ * their tenders are loaded once and the sections are computed from that data in
+ * parallel. Sections that fail or are not done within the section timeout are
+ * interrupted, left out and listed under "incomplete"; if the shared data is not
+ * loaded within the timeout, all sections are.
+ */
+@Service
+public class BidOverviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BidOverviewService.class);
+
+    private static final List<String> SECTIONS =
+            List.of("statistics", "performance", "successRate", "volume", "distribution", "analysis");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private BidJoinService bidJoinService;
+
+    @Autowired
+    private BidAnalyticsService bidAnalyticsService;
+
+    private final ExecutorService executor;
+    private final long sectionTimeoutMs;
+
+    public BidOverviewService(@Value("${analytics.overview.threads:8}") int threads,
+                              @Value("${analytics.overview.section-timeout-ms:2000}") long sectionTimeoutMs) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "analytics-overview-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sectionTimeoutMs = sectionTimeoutMs;
+    }
+
+    /**
+     * Get the statistics, performance, success rate, volume, distribution and
+     * category analysis of a company
+     * @param companyId The company ID
+     * @param buckets The time buckets of the success rate and volume series
+     * @param zone The time zone the statistics comparison periods are calculated in
+     * @return Map with one entry per completed section and the names of the incomplete sections
+     */
+    public Map<String, Object> getOverview(String companyId, TimeBuckets buckets, ZoneId zone) {
+        Company company = companyRepository.findById(companyId)
+                .orElseThrow(() -> new RuntimeException("Company not found with id " + companyId));
+
+        // Load the data shared by all sections once, within the section timeout
+        Duration maxTime = Duration.ofMillis(sectionTimeoutMs);
+        List<Bid> companyBids;
+        Map<String, Tender> tenders;
+        try {
+            companyBids = mongoTemplate.find(query(where("companyId").is(companyId)).maxTime(maxTime), Bid.class);
+            tenders = bidJoinService.tendersFor(companyBids, maxTime);
+        } catch (UncategorizedMongoDbException e) {
+            if (!(e.getCause() instanceof MongoExecutionTimeoutException)) {
+                throw e;
+            }
+            logger.warn("Overview data for company {} was not loaded within {} ms", companyId, sectionTimeoutMs);
+            Map<String, Object> result = new HashMap<>();
+            result.put("incomplete", new ArrayList<>(SECTIONS));
+            return result;
+        }
+
+        Map<String, Supplier<Object>> sections = new LinkedHashMap<>();
+        sections.put("statistics", () -> bidAnalyticsService.getBidStatistics(companyBids, zone));
+        sections.put("performance", () -> bidAnalyticsService.getPerformanceMetrics(companyBids, tenders));
+        sections.put("successRate", () -> bidAnalyticsService.getBidSuccessRate(companyBids, buckets));
+        sections.put("volume", () -> bidAnalyticsService.getBidVolume(companyBids, buckets));
+        sections.put("distribution", () -> bidAnalyticsService.getBidDistribution(companyBids));
+        sections.put("analysis", () -> bidAnalyticsService.getBidAnalytics(company, companyBids, tenders));
+
+        // Fan out, every section gets the same timeout counted from here
+        Map<String, Future<Object>> futures = new LinkedHashMap<>();
+        sections.forEach((name, section) -> futures.put(name, executor.submit(section::get)));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
+
+        Map<String, Object> result = new HashMap<>();
+        List<String> incomplete = new ArrayList<>();
+        for (Map.Entry<String, Future<Object>> entry : futures.entrySet()) {
+            String name = entry.getKey();
+            Future<Object> future = entry.getValue();
+            try {
+                result.put(name, future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                // Interrupts the section's thread, unlike cancelling a CompletableFuture
+                future.cancel(true);
+                incomplete.add(name);
+                logger.warn("Overview section {} for company {} timed out after {} ms", name, companyId, sectionTimeoutMs);
+            } catch (ExecutionException e) {
+                incomplete.add(name);
+                logger.warn("Overview section {} for company {} failed", name, companyId, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                incomplete.add(name);
+            }
+        }
+        result.put("incomplete", incomplete);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the company bid rollups from the raw bids collection when the
+ * application is started with {@code --rebuild-rollups}.
+ */
+@Component
+public class BidRollupRebuildRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BidRollupRebuildRunner.class);
+
+    @Autowired
+    private BidRollupService bidRollupService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption("rebuild-rollups")) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int rebuilt = bidRollupService.rebuildAll();
+        logger.info("Rebuilt {} company bid rollups in {} ms", rebuilt, System.currentTimeMillis() - start);
+    }
+}
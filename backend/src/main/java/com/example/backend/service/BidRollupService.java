@@ -0,0 +1,381 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.*;
+import com.example.backend.model.Bid;
+import com.example.backend.model.CompanyBidRollup;
+import com.example.backend.model.CompanyBidRollup.MonthlyBids;
+import com.example.backend.model.Tender;
+import com.example.backend.repository.BidRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Maintains the company_bid_rollups read model and answers the per-company bid
+ * analytics from a single rollup document read. The rollups are rebuilt from the
+ * bids collection periodically, to correct drift from lost or concurrent deltas.
+ */
+@Service
+public class BidRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BidRollupService.class);
+
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("MMM");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private BidJoinService bidJoinService;
+
+    @Autowired
+    private WriteBehindService writeBehindService;
+
+    /**
+     * Add a newly submitted bid to its company's rollup
+     * @param bid The saved bid
+     * @param tender The tender the bid was submitted to, or null if unknown
+     */
+    public void recordBidCreated(Bid bid, Tender tender) {
+        apply(bid.getCompanyId(), bidDelta(bid, tender, 1, true));
+    }
+
+    /**
+     * Add a batch of submitted bids to their companies' rollups, merged into one write per company
+     * @param bids The saved bids
+     * @param tenders The tenders of the bids by ID
+     */
+    public void recordBidsCreated(List<Bid> bids, Map<String, Tender> tenders) {
+        for (Bid bid : bids) {
+            apply(bid.getCompanyId(), bidDelta(bid, tenders.get(bid.getTenderId()), 1, true));
+        }
+    }
+
+    /**
+     * Remove a deleted bid from its company's rollup
+     * @param bid The deleted bid
+     * @param tender The tender the bid was submitted to, or null if unknown
+     */
+    public void recordBidDeleted(Bid bid, Tender tender) {
+        // Min/max cannot be taken back; they are corrected by the next rebuild
+        apply(bid.getCompanyId(), bidDelta(bid, tender, -1, false));
+    }
+
+    /**
+     * Move a bid between status buckets of its company's rollup
+     * @param bid The bid, carrying its new status
+     * @param previousStatus The status before the change
+     */
+    public void recordStatusChange(Bid bid, String previousStatus) {
+        String status = bid.getStatus();
+        if (Objects.equals(previousStatus, status)) {
+            return;
+        }
+        String prefix = "months." + monthKey(bid.getCreatedAt()) + ".";
+        Update update = new Update()
+                .inc(prefix + "counts." + previousStatus, -1)
+                .inc(prefix + "counts." + status, 1)
+                .inc(prefix + "amounts." + previousStatus, -bid.getAmount())
+                .inc(prefix + "amounts." + status, bid.getAmount());
+        apply(bid.getCompanyId(), update);
+    }
+
+    /**
+     * Recompute every company's rollup from the raw bids collection
+     * @return Number of rollup documents written
+     */
+    public int rebuildAll() {
+        // Write pending deltas first, so they are not applied again over the rebuilt rollups
+        writeBehindService.flush();
+        List<String> companyIds = mongoTemplate.findDistinct(new Query(),
+                "companyId", Bid.class, String.class);
+        for (String companyId : companyIds) {
+            rebuild(companyId);
+        }
+        // Drop rollups of companies that no longer have any bids
+        mongoTemplate.remove(query(where("_id").nin(companyIds)), CompanyBidRollup.class);
+        return companyIds.size();
+    }
+
+    /**
+     * Recompute one company's rollup from the raw bids collection
+     * @param companyId The company ID
+     * @return The rebuilt rollup
+     */
+    public CompanyBidRollup rebuild(String companyId) {
+        // Drop the deltas of bids changed while the rollup is recomputed from them, so they are not counted
+        // twice; a change the scan misses is corrected by the next rebuild
+        writeBehindService.pause(CompanyBidRollup.class, companyId);
+        try {
+            return mongoTemplate.save(compute(companyId));
+        } finally {
+            writeBehindService.resume(CompanyBidRollup.class, companyId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.rollups.rebuild-interval-ms:3600000}",
+            initialDelayString = "${analytics.rollups.rebuild-interval-ms:3600000}")
+    public void rebuildPeriodically() {
+        try {
+            rebuildAll();
+        } catch (DataAccessException e) {
+            logger.warn("Could not rebuild the company bid rollups: {}", e.getMessage());
+        }
+    }
+
+    private CompanyBidRollup compute(String companyId) {
+        List<Bid> companyBids = bidRepository.findByCompanyId(companyId);
+        Map<String, Tender> tenders = bidJoinService.tendersFor(companyBids);
+
+        CompanyBidRollup rollup = new CompanyBidRollup();
+        rollup.setId(companyId);
+        for (Bid bid : companyBids) {
+            MonthlyBids month = rollup.getMonths()
+                    .computeIfAbsent(monthKey(bid.getCreatedAt()), k -> new MonthlyBids());
+            month.getCounts().merge(bid.getStatus(), 1L, Long::sum);
+            month.getAmounts().merge(bid.getStatus(), bid.getAmount(), Double::sum);
+            month.setMinAmount(month.getMinAmount() == null ? bid.getAmount() : Math.min(month.getMinAmount(), bid.getAmount()));
+            month.setMaxAmount(month.getMaxAmount() == null ? bid.getAmount() : Math.max(month.getMaxAmount(), bid.getAmount()));
+
+            Tender tender = tenders.get(bid.getTenderId());
+            if (tender != null && tender.getCreatedAt() != null) {
+                month.setResponseTimeDays(month.getResponseTimeDays() + responseTimeDays(bid, tender));
+                month.setResponseTimeCount(month.getResponseTimeCount() + 1);
+                if (tender.getBudget() > 0) {
+                    month.setPricingScoreSum(month.getPricingScoreSum() + pricingScore(bid, tender));
+                    month.setMarkupSum(month.getMarkupSum() + markup(bid, tender));
+                    month.setPricedCount(month.getPricedCount() + 1);
+                }
+            }
+        }
+        return rollup;
+    }
+
+    /**
+     * Get success rate for a company over a period
+     * @param companyId The company ID
+     * @param months Number of months to look back
+     * @return Month labels, year-qualified month keys and success rate percentages
+     */
+    public RateSeriesDTO getBidSuccessRate(String companyId, int months) {
+        Map<YearMonth, MonthlyBids> buckets = lastMonths(load(companyId), months);
+
+        double[] successRates = new double[buckets.size()];
+        int i = 0;
+        for (MonthlyBids month : buckets.values()) {
+            long total = month.getTotalCount();
+            successRates[i++] = total == 0 ? 0.0 : (double) month.getCount("accepted") / total * 100;
+        }
+
+        return new RateSeriesDTO(labels(buckets.keySet()), keys(buckets.keySet()), successRates);
+    }
+
+    /**
+     * Get bid volume by month
+     * @param companyId The company ID
+     * @param months Number of months to look back
+     * @return Month labels, year-qualified month keys and bid counts
+     */
+    public CountSeriesDTO getBidVolume(String companyId, int months) {
+        Map<YearMonth, MonthlyBids> buckets = lastMonths(load(companyId), months);
+
+        long[] bidCounts = buckets.values().stream().mapToLong(MonthlyBids::getTotalCount).toArray();
+
+        return new CountSeriesDTO(labels(buckets.keySet()), keys(buckets.keySet()), bidCounts);
+    }
+
+    /**
+     * Get bid status distribution
+     * @param companyId The company ID
+     * @return Status labels and counts
+     */
+    public LabeledCountsDTO getBidDistribution(String companyId) {
+        MonthlyBids total = total(load(companyId));
+
+        return new LabeledCountsDTO(BidAnalyticsService.BID_STATUS_LABELS,
+                new long[]{total.getCount("accepted"), total.getCount("rejected"), total.getCount("pending")});
+    }
+
+    /**
+     * Get overall bid statistics. Period-over-period changes compare the current
+     * calendar month with the previous one, the finest granularity of the rollup.
+     * @param companyId The company ID
+     * @return The statistics
+     */
+    public BidStatisticsDTO getBidStatistics(String companyId) {
+        CompanyBidRollup rollup = load(companyId);
+        MonthlyBids total = total(rollup);
+        long totalBids = total.getTotalCount();
+        long activeBids = total.getCount("accepted");
+
+        Double activeBidsChange = null;
+        Double pendingBidsChange = null;
+        YearMonth thisMonth = YearMonth.now();
+        MonthlyBids current = rollup.getMonths().get(thisMonth.toString());
+        MonthlyBids previous = rollup.getMonths().get(thisMonth.minusMonths(1).toString());
+        if (current != null && current.getTotalCount() > 0 && previous != null && previous.getTotalCount() > 0) {
+            activeBidsChange = calculatePercentageChange(previous.getCount("accepted"), current.getCount("accepted"));
+            pendingBidsChange = calculatePercentageChange(previous.getCount("pending"), current.getCount("pending"));
+        }
+
+        return new BidStatisticsDTO(activeBids, total.getCount("pending"), (int) totalBids,
+                totalBids > 0 ? (double) activeBids / totalBids * 100 : 0.0,
+                totalBids > 0 ? total.getTotalAmount() / totalBids : 0.0,
+                activeBidsChange, pendingBidsChange);
+    }
+
+    /**
+     * Get performance metrics
+     * @param companyId The company ID
+     * @return The performance metrics
+     */
+    public PerformanceMetricsDTO getPerformanceMetrics(String companyId) {
+        MonthlyBids total = total(load(companyId));
+
+        double averageResponseTime = total.getResponseTimeCount() > 0
+                ? (double) total.getResponseTimeDays() / total.getResponseTimeCount()
+                : 0;
+
+        double totalBidValue = total.getTotalAmount();
+        double winRateByValue = totalBidValue == 0 ? 0 : (total.getAmount("accepted") / totalBidValue) * 100;
+
+        // Same factors as BidAnalyticsService: win rate, pricing competitiveness and response time
+        double competitiveIndex = 0;
+        int competitiveFactors = 0;
+        if (totalBidValue > 0) {
+            competitiveIndex += (winRateByValue / 100) * 10;
+            competitiveFactors++;
+        }
+        if (total.getPricedCount() > 0) {
+            competitiveIndex += total.getPricingScoreSum() / total.getPricedCount();
+            competitiveFactors++;
+        }
+        if (total.getResponseTimeCount() > 0) {
+            competitiveIndex += Math.max(0, 10 - (averageResponseTime - 3));
+            competitiveFactors++;
+        }
+        if (competitiveFactors > 0) {
+            competitiveIndex /= competitiveFactors;
+        }
+
+        double averageMarkup = total.getPricedCount() > 0 ? total.getMarkupSum() / total.getPricedCount() : 0;
+
+        return new PerformanceMetricsDTO(
+                Math.round(averageResponseTime * 10.0) / 10.0,
+                Math.round(winRateByValue * 10.0) / 10.0,
+                Math.round(competitiveIndex * 10.0) / 10.0,
+                Math.round(averageMarkup * 10.0) / 10.0);
+    }
+
+    private Update bidDelta(Bid bid, Tender tender, int sign, boolean includeRange) {
+        String prefix = "months." + monthKey(bid.getCreatedAt()) + ".";
+        Update update = new Update()
+                .inc(prefix + "counts." + bid.getStatus(), sign)
+                .inc(prefix + "amounts." + bid.getStatus(), sign * bid.getAmount());
+        if (includeRange) {
+            update.min(prefix + "minAmount", bid.getAmount())
+                    .max(prefix + "maxAmount", bid.getAmount());
+        }
+
+        if (tender != null && tender.getCreatedAt() != null) {
+            update.inc(prefix + "responseTimeDays", sign * responseTimeDays(bid, tender))
+                    .inc(prefix + "responseTimeCount", sign);
+            if (tender.getBudget() > 0) {
+                update.inc(prefix + "pricingScoreSum", sign * pricingScore(bid, tender))
+                        .inc(prefix + "markupSum", sign * markup(bid, tender))
+                        .inc(prefix + "pricedCount", sign);
+            }
+        }
+        return update;
+    }
+
+    // Bids of one company are merged into one upsert of its rollup, written behind
+    private void apply(String companyId, Update update) {
+        if (companyId == null) {
+            return;
+        }
+        writeBehindService.submit(CompanyBidRollup.class, companyId, WriteBehindService.Counters.of(update, true));
+    }
+
+    private CompanyBidRollup load(String companyId) {
+        CompanyBidRollup rollup = mongoTemplate.findById(companyId, CompanyBidRollup.class);
+        return rollup != null ? rollup : new CompanyBidRollup();
+    }
+
+    private Map<YearMonth, MonthlyBids> lastMonths(CompanyBidRollup rollup, int months) {
+        // Rollup months are keyed in the server time zone
+        Map<YearMonth, MonthlyBids> buckets = new LinkedHashMap<>();
+        YearMonth thisMonth = YearMonth.now();
+        for (int i = months - 1; i >= 0; i--) {
+            YearMonth month = thisMonth.minusMonths(i);
+            MonthlyBids bucket = rollup.getMonths().get(month.toString());
+            buckets.put(month, bucket != null ? bucket : new MonthlyBids());
+        }
+        return buckets;
+    }
+
+    private List<String> labels(Collection<YearMonth> months) {
+        return months.stream().map(month -> month.format(MONTH_LABEL)).toList();
+    }
+
+    private List<String> keys(Collection<YearMonth> months) {
+        return months.stream().map(YearMonth::toString).toList();
+    }
+
+    private MonthlyBids total(CompanyBidRollup rollup) {
+        MonthlyBids total = new MonthlyBids();
+        for (MonthlyBids month : rollup.getMonths().values()) {
+            month.getCounts().forEach((status, count) -> total.getCounts().merge(status, count, Long::sum));
+            month.getAmounts().forEach((status, amount) -> total.getAmounts().merge(status, amount, Double::sum));
+            total.setResponseTimeDays(total.getResponseTimeDays() + month.getResponseTimeDays());
+            total.setResponseTimeCount(total.getResponseTimeCount() + month.getResponseTimeCount());
+            total.setPricingScoreSum(total.getPricingScoreSum() + month.getPricingScoreSum());
+            total.setMarkupSum(total.getMarkupSum() + month.getMarkupSum());
+            total.setPricedCount(total.getPricedCount() + month.getPricedCount());
+        }
+        return total;
+    }
+
+    private String monthKey(Instant createdAt) {
+        return YearMonth.from(createdAt.atZone(ZoneId.systemDefault())).toString();
+    }
+
+    private long responseTimeDays(Bid bid, Tender tender) {
+        return Duration.between(tender.getCreatedAt(), bid.getCreatedAt()).toDays();
+    }
+
+    private double pricingScore(Bid bid, Tender tender) {
+        double bidRatio = bid.getAmount() / tender.getBudget();
+        return Math.max(0, 10 - Math.abs(1 - bidRatio) * 10);
+    }
+
+    private double markup(Bid bid, Tender tender) {
+        return ((bid.getAmount() - tender.getBudget()) / tender.getBudget()) * 100;
+    }
+
+    private double calculatePercentageChange(long previous, long current) {
+        if (previous == 0) {
+            return current > 0 ? 100 : 0;
+        }
+        return ((double) (current - previous) / previous) * 100;
+    }
+}
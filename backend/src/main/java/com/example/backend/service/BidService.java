@@ -1,17 +1,26 @@
 package com.example.backend.service;
 
+import com.example.backend.event.AnalyticsDataChangedEvent;
+import com.example.backend.event.TenderUpdateEvent;
 import com.example.backend.model.Bid;
 import com.example.backend.model.Tender;
 import com.example.backend.repository.BidRepository;
 import com.example.backend.repository.TenderRepository;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
 @Service
 public class BidService {
 
@@ -21,8 +30,33 @@ public class BidService {
     @Autowired
     private TenderRepository tenderRepository;
 
+    @Autowired
+    private BidJoinService bidJoinService;
+
+    @Autowired
+    private BidRollupService bidRollupService;
+
+    @Autowired
+    private TenderAwardService tenderAwardService;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private CompanyLeaderboard companyLeaderboard;
+
+    @Autowired
+    private ActivityFeedService activityFeedService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Map<String, Object>> getBidsByCompanyId(String companyId) {
         List<Bid> bids = bidRepository.findByCompanyId(companyId);
+        Map<String, Tender> tenders = bidJoinService.tendersFor(bids);
         return bids.stream().map(bid -> {
             Map<String, Object> bidData = new HashMap<>();
             bidData.put("id", bid.getId());
@@ -35,12 +69,12 @@ public class BidService {
             bidData.put("createdAt", bid.getCreatedAt());
 
             // Get tender details
-            Optional<Tender> tender = tenderRepository.findById(bid.getTenderId());
-            if (tender.isPresent()) {
-                bidData.put("tenderTitle", tender.get().getTitle());
-                bidData.put("originalBudget", tender.get().getBudget());
-                bidData.put("clientId", tender.get().getClientId());
-                bidData.put("deadline", tender.get().getDeadline());
+            Tender tender = tenders.get(bid.getTenderId());
+            if (tender != null) {
+                bidData.put("tenderTitle", tender.getTitle());
+                bidData.put("originalBudget", tender.getBudget());
+                bidData.put("clientId", tender.getClientId());
+                bidData.put("deadline", tender.getDeadline());
             }
 
             return bidData;
@@ -60,21 +94,73 @@ public class BidService {
     }
 
     public Bid createBid(Bid bid) {
-        bid.setCreatedAt(LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
+        Tender tender = findTender(bid);
+        bid.setCreatedAt(Instant.now());
         bid.setStatus("pending");
-        return bidRepository.save(bid);
+        if (tender != null) {
+            bid.setTenderTitle(tender.getTitle());
+            bid.setTenderCreatedAt(tender.getCreatedAt());
+        }
+        Bid savedBid = bidRepository.save(bid);
+        bidRollupService.recordBidCreated(savedBid, tender);
+        dashboardCounterService.recordBidCreated(savedBid);
+        companyLeaderboard.recordBidCreated(savedBid);
+        activityFeedService.recordBidSubmitted(savedBid, tender);
+        eventPublisher.publishEvent(AnalyticsDataChangedEvent.forCompany(savedBid.getCompanyId())
+                .forClient(tender != null ? tender.getClientId() : null).in(DataVersions.BIDS));
+        return savedBid;
     }
 
     public Bid updateBidStatus(String id, String status) {
-        return bidRepository.findById(id)
-                .map(bid -> {
-                    bid.setStatus(status);
-                    return bidRepository.save(bid);
-                })
-                .orElseThrow(() -> new RuntimeException("Bid not found with id " + id));
+        // Set the status and read the previous one in one atomic update, so of concurrent
+        // changes each sees the status it replaced and the deltas are applied once per transition
+        Bid savedBid = mongoTemplate.findAndModify(query(where("_id").is(id)), Update.update("status", status), Bid.class);
+        if (savedBid == null) {
+            throw new RuntimeException("Bid not found with id " + id);
+        }
+        String previousStatus = savedBid.getStatus();
+        savedBid.setStatus(status);
+        // The update bypasses the repository, so the after-save listeners are told about it here
+        Document document = new Document();
+        mongoTemplate.getConverter().write(savedBid, document);
+        eventPublisher.publishEvent(new AfterSaveEvent<>(savedBid, document, mongoTemplate.getCollectionName(Bid.class)));
+        if (Objects.equals(previousStatus, status)) {
+            return savedBid;
+        }
+
+        bidRollupService.recordStatusChange(savedBid, previousStatus);
+        dashboardCounterService.recordBidStatusChange(savedBid, previousStatus);
+        companyLeaderboard.recordBidStatusChange(savedBid, previousStatus);
+        if ("accepted".equals(status)) {
+            tenderAwardService.recordAward(savedBid);
+        } else if ("accepted".equals(previousStatus)) {
+            tenderAwardService.clearAward(savedBid);
+        }
+        Tender tender = findTender(savedBid);
+        eventPublisher.publishEvent(AnalyticsDataChangedEvent.forCompany(savedBid.getCompanyId())
+                .forClient(tender != null ? tender.getClientId() : null).in(DataVersions.TENDERS, DataVersions.BIDS));
+        if (tender != null) {
+            eventPublisher.publishEvent(TenderUpdateEvent.bidStatusChanged(tender, savedBid));
+        }
+        return savedBid;
     }
 
     public void deleteBid(String id) {
-        bidRepository.deleteById(id);
+        bidRepository.findById(id).ifPresent(bid -> {
+            bidRepository.delete(bid);
+            Tender tender = findTender(bid);
+            bidRollupService.recordBidDeleted(bid, tender);
+            dashboardCounterService.recordBidDeleted(bid);
+            companyLeaderboard.recordBidDeleted(bid);
+            if ("accepted".equals(bid.getStatus())) {
+                tenderAwardService.clearAward(bid);
+            }
+            eventPublisher.publishEvent(AnalyticsDataChangedEvent.forCompany(bid.getCompanyId())
+                    .forClient(tender != null ? tender.getClientId() : null).in(DataVersions.TENDERS, DataVersions.BIDS));
+        });
+    }
+
+    private Tender findTender(Bid bid) {
+        return bid.getTenderId() != null ? tenderRepository.findById(bid.getTenderId()).orElse(null) : null;
     }
 }
\ No newline at end of file
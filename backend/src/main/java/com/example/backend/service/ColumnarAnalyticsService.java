@@ -0,0 +1,155 @@
+package com.example.backend.service;
+
+import com.example.backend.util.TimeBuckets;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Global bid and tender counts computed by scanning the columnar store. Each
+ * scan maps a row to a bucket index and counts per bucket; large scans are split
+ * across the common fork-join pool.
+ */
+@Service
+@ConditionalOnProperty(name = "analytics.columnar.enabled", havingValue = "true")
+public class ColumnarAnalyticsService {
+
+    // Rows per fork-join task, smaller scans run on the calling thread
+    private static final int SPLIT_THRESHOLD = 1 << 15;
+
+    @Autowired
+    private ColumnarStore columnarStore;
+
+    /**
+     * Whether the store is loaded and the scans can be used
+     */
+    public boolean isReady() {
+        return columnarStore.isReady();
+    }
+
+    /**
+     * Count bids per time bucket and company type
+     * @param companyTypes The company types to count
+     * @param buckets The time buckets
+     * @return Bid count per bucket and company type, in the order of companyTypes
+     */
+    public long[][] countBidsByCompanyType(List<String> companyTypes, TimeBuckets buckets) {
+        int types = companyTypes.size();
+        return columnarStore.read(columns -> {
+            // Map each type code to the index of the requested type, -1 for other types
+            int[] typeCodes = companyTypes.stream().mapToInt(columns::companyTypeCode).toArray();
+            int[] typeBuckets = new int[Arrays.stream(typeCodes).max().orElse(-1) + 1];
+            Arrays.fill(typeBuckets, -1);
+            for (int i = 0; i < typeCodes.length; i++) {
+                if (typeCodes[i] >= 0) {
+                    typeBuckets[typeCodes[i]] = i;
+                }
+            }
+
+            long[] createdAt = columns.bidCreatedAt();
+            byte[] status = columns.bidStatus();
+            int[] company = columns.bidCompany();
+            int[] companyType = columns.companyType();
+            // Flat bucket index: time bucket * types + type index
+            long[] counts = count(columns.bidCount(), buckets.size() * types, row -> {
+                if (status[row] == ColumnarStore.DELETED || company[row] < 0) {
+                    return -1;
+                }
+                int type = companyType[company[row]];
+                int typeBucket = type >= 0 && type < typeBuckets.length ? typeBuckets[type] : -1;
+                int timeBucket = typeBucket >= 0 ? buckets.indexOf(createdAt[row]) : -1;
+                return timeBucket >= 0 ? timeBucket * types + typeBucket : -1;
+            });
+
+            long[][] result = new long[buckets.size()][];
+            for (int i = 0; i < buckets.size(); i++) {
+                result[i] = Arrays.copyOfRange(counts, i * types, (i + 1) * types);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Count bids per time bucket
+     * @param buckets The time buckets
+     * @return Bid count per bucket
+     */
+    public long[] countBids(TimeBuckets buckets) {
+        return columnarStore.read(columns -> {
+            long[] createdAt = columns.bidCreatedAt();
+            byte[] status = columns.bidStatus();
+            return count(columns.bidCount(), buckets.size(), row ->
+                    status[row] == ColumnarStore.DELETED ? -1 : buckets.indexOf(createdAt[row]));
+        });
+    }
+
+    /**
+     * Count tenders per time bucket
+     * @param buckets The time buckets
+     * @return Tender count per bucket
+     */
+    public long[] countTenders(TimeBuckets buckets) {
+        return columnarStore.read(columns -> {
+            long[] createdAt = columns.tenderCreatedAt();
+            byte[] status = columns.tenderStatus();
+            return count(columns.tenderCount(), buckets.size(), row ->
+                    status[row] == ColumnarStore.DELETED ? -1 : buckets.indexOf(createdAt[row]));
+        });
+    }
+
+    private static long[] count(int rows, int buckets, IntUnaryOperator bucketOf) {
+        if (rows <= SPLIT_THRESHOLD) {
+            return new CountTask(0, rows, buckets, bucketOf).compute();
+        }
+        return ForkJoinPool.commonPool().invoke(new CountTask(0, rows, buckets, bucketOf));
+    }
+
+    /**
+     * Counts rows per bucket, splitting the row range in halves until it is small enough
+     */
+    private static class CountTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int buckets;
+        private final IntUnaryOperator bucketOf; // Bucket index of a row, -1 to skip it
+
+        CountTask(int from, int to, int buckets, IntUnaryOperator bucketOf) {
+            this.from = from;
+            this.to = to;
+            this.buckets = buckets;
+            this.bucketOf = bucketOf;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                CountTask left = new CountTask(from, mid, buckets, bucketOf);
+                left.fork();
+                long[] right = new CountTask(mid, to, buckets, bucketOf).compute();
+                long[] counts = left.join();
+                for (int i = 0; i < buckets; i++) {
+                    counts[i] += right[i];
+                }
+                return counts;
+            }
+
+            long[] counts = new long[buckets];
+            for (int row = from; row < to; row++) {
+                int bucket = bucketOf.applyAsInt(row);
+                if (bucket >= 0) {
+                    counts[bucket]++;
+                }
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Bid;
+import com.example.backend.model.Company;
+import com.example.backend.model.Tender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * In-memory columnar copy of the fields used by the global analytics scans.
+ * Bids and tenders are held as primitive arrays (epoch millis, amounts, status
+ * codes and dictionary-encoded IDs) so the scans in ColumnarAnalyticsService run
+ * as plain loops without materializing documents. Loaded in the background once
+ * the application is ready and kept current by ColumnarStoreListener.
+ * Enabled with {@code analytics.columnar.enabled=true}.
+ */
+@Service
+@ConditionalOnProperty(name = "analytics.columnar.enabled", havingValue = "true")
+public class ColumnarStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarStore.class);
+
+    // Status codes, 0 marks a deleted row
+    public static final byte DELETED = 0;
+    public static final byte BID_PENDING = 1;
+    public static final byte BID_ACCEPTED = 2;
+    public static final byte BID_REJECTED = 3;
+    public static final byte TENDER_NEW = 1;
+    public static final byte TENDER_ACTIVE = 2;
+    public static final byte TENDER_ENDED = 3;
+    public static final byte OTHER = 4;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    // Writes that arrive during a load, applied after it; guarded by deferred
+    private final List<Runnable> deferred = new ArrayList<>();
+    private boolean loading;
+
+    // Dictionaries
+    private final Dictionary companyIds = new Dictionary();
+    private final Dictionary companyTypes = new Dictionary();
+    private final Dictionary clientIds = new Dictionary();
+    private int[] companyType = unknownTypes(INITIAL_CAPACITY); // Type code per company code, -1 if unknown
+    private boolean[] companyExists = new boolean[INITIAL_CAPACITY];
+    private int companyCount;
+
+    // Bid columns
+    private final Map<String, Integer> bidRows = new HashMap<>();
+    private long[] bidCreatedAt = new long[INITIAL_CAPACITY];
+    private double[] bidAmount = new double[INITIAL_CAPACITY];
+    private byte[] bidStatus = new byte[INITIAL_CAPACITY];
+    private int[] bidCompany = new int[INITIAL_CAPACITY];
+    private int bidCount; // Rows in use, including deleted rows
+
+    // Tender columns
+    private final Map<String, Integer> tenderRows = new HashMap<>();
+    private long[] tenderCreatedAt = new long[INITIAL_CAPACITY];
+    private double[] tenderBudget = new double[INITIAL_CAPACITY];
+    private byte[] tenderStatus = new byte[INITIAL_CAPACITY];
+    private int[] tenderClient = new int[INITIAL_CAPACITY];
+    private int tenderCount;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread thread = new Thread(this::load, "columnar-store-loader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Load all companies, bids and tenders. Documents are read from Mongo without
+     * holding the lock and applied in short chunks; writes arriving meanwhile are
+     * buffered and applied after the load, so they win over older loaded copies.
+     */
+    public void load() {
+        long start = System.currentTimeMillis();
+        synchronized (deferred) {
+            loading = true;
+        }
+        try {
+            Query companyQuery = new Query();
+            companyQuery.fields().include("type");
+            try (var companies = mongoTemplate.stream(companyQuery, Company.class)) {
+                applyInChunks(companies.iterator(), this::putCompany);
+            }
+
+            Query bidQuery = new Query();
+            bidQuery.fields().include("createdAt", "amount", "status", "companyId");
+            try (var bids = mongoTemplate.stream(bidQuery, Bid.class)) {
+                applyInChunks(bids.iterator(), this::putBid);
+            }
+
+            Query tenderQuery = new Query();
+            tenderQuery.fields().include("createdAt", "budget", "status", "clientId");
+            try (var tenders = mongoTemplate.stream(tenderQuery, Tender.class)) {
+                applyInChunks(tenders.iterator(), this::putTender);
+            }
+            ready = true;
+            logger.info("Loaded columnar store with {} bids and {} tenders in {} ms",
+                    bidRows.size(), tenderRows.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            logger.warn("Could not load columnar store, analytics fall back to queries: {}", e.getMessage());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                synchronized (deferred) {
+                    deferred.forEach(Runnable::run);
+                    deferred.clear();
+                    loading = false;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private <T> void applyInChunks(Iterator<T> documents, Consumer<T> put) {
+        List<T> chunk = new ArrayList<>(LOAD_CHUNK_SIZE);
+        while (documents.hasNext()) {
+            chunk.add(documents.next());
+            if (chunk.size() == LOAD_CHUNK_SIZE || !documents.hasNext()) {
+                lock.writeLock().lock();
+                try {
+                    chunk.forEach(put);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                chunk.clear();
+            }
+        }
+    }
+
+    /**
+     * Whether the initial load completed and the store can answer scans
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void upsertBid(Bid bid) {
+        write(this::putBid, bid);
+    }
+
+    public void upsertTender(Tender tender) {
+        write(this::putTender, tender);
+    }
+
+    public void upsertCompany(Company company) {
+        write(this::putCompany, company);
+    }
+
+    public void removeBid(String id) {
+        write(bidId -> {
+            Integer row = bidRows.remove(bidId);
+            if (row != null) {
+                bidStatus[row] = DELETED;
+            }
+        }, id);
+    }
+
+    public void removeTender(String id) {
+        write(tenderId -> {
+            Integer row = tenderRows.remove(tenderId);
+            if (row != null) {
+                tenderStatus[row] = DELETED;
+            }
+        }, id);
+    }
+
+    public void removeCompany(String id) {
+        write(companyId -> {
+            int code = companyIds.find(companyId);
+            if (code >= 0 && companyExists[code]) {
+                companyExists[code] = false;
+                companyType[code] = -1;
+                companyCount--;
+            }
+        }, id);
+    }
+
+    /**
+     * Run a scan over the columns while holding the read lock
+     * @param scan The scan, receives a consistent view of the columns
+     * @return The scan result
+     */
+    public <T> T read(Function<Columns, T> scan) {
+        lock.readLock().lock();
+        try {
+            return scan.apply(new Columns());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> void write(Consumer<T> operation, T value) {
+        synchronized (deferred) {
+            if (loading) {
+                deferred.add(() -> operation.accept(value));
+                return;
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            operation.accept(value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putCompany(Company company) {
+        int code = companyIds.encode(company.getId());
+        ensureCompanyCapacity(code + 1);
+        if (!companyExists[code]) {
+            companyExists[code] = true;
+            companyCount++;
+        }
+        companyType[code] = company.getType() != null ? companyTypes.encode(company.getType()) : -1;
+    }
+
+    private void putBid(Bid bid) {
+        Integer row = bidRows.get(bid.getId());
+        if (row == null) {
+            if (bidCount == bidStatus.length) {
+                int capacity = bidCount * 2;
+                bidCreatedAt = Arrays.copyOf(bidCreatedAt, capacity);
+                bidAmount = Arrays.copyOf(bidAmount, capacity);
+                bidStatus = Arrays.copyOf(bidStatus, capacity);
+                bidCompany = Arrays.copyOf(bidCompany, capacity);
+            }
+            row = bidCount++;
+            bidRows.put(bid.getId(), row);
+        }
+        bidCreatedAt[row] = epochMillis(bid.getCreatedAt());
+        bidAmount[row] = bid.getAmount();
+        bidStatus[row] = bidStatusCode(bid.getStatus());
+        bidCompany[row] = bid.getCompanyId() != null ? companyIds.encode(bid.getCompanyId()) : -1;
+        ensureCompanyCapacity(companyIds.size());
+    }
+
+    private void putTender(Tender tender) {
+        Integer row = tenderRows.get(tender.getId());
+        if (row == null) {
+            if (tenderCount == tenderStatus.length) {
+                int capacity = tenderCount * 2;
+                tenderCreatedAt = Arrays.copyOf(tenderCreatedAt, capacity);
+                tenderBudget = Arrays.copyOf(tenderBudget, capacity);
+                tenderStatus = Arrays.copyOf(tenderStatus, capacity);
+                tenderClient = Arrays.copyOf(tenderClient, capacity);
+            }
+            row = tenderCount++;
+            tenderRows.put(tender.getId(), row);
+        }
+        tenderCreatedAt[row] = epochMillis(tender.getCreatedAt());
+        tenderBudget[row] = tender.getBudget();
+        tenderStatus[row] = tenderStatusCode(tender.getStatus());
+        tenderClient[row] = tender.getClientId() != null ? clientIds.encode(tender.getClientId()) : -1;
+    }
+
+    private void ensureCompanyCapacity(int size) {
+        if (size > companyType.length) {
+            int capacity = Math.max(size, companyType.length * 2);
+            int previous = companyType.length;
+            companyType = Arrays.copyOf(companyType, capacity);
+            Arrays.fill(companyType, previous, capacity, -1);
+            companyExists = Arrays.copyOf(companyExists, capacity);
+        }
+    }
+
+    private static int[] unknownTypes(int capacity) {
+        int[] types = new int[capacity];
+        Arrays.fill(types, -1);
+        return types;
+    }
+
+    private static long epochMillis(Instant instant) {
+        return instant != null ? instant.toEpochMilli() : Long.MIN_VALUE;
+    }
+
+    private static byte bidStatusCode(String status) {
+        if ("pending".equals(status)) {
+            return BID_PENDING;
+        } else if ("accepted".equals(status)) {
+            return BID_ACCEPTED;
+        } else if ("rejected".equals(status)) {
+            return BID_REJECTED;
+        }
+        return OTHER;
+    }
+
+    private static byte tenderStatusCode(String status) {
+        if ("new".equals(status)) {
+            return TENDER_NEW;
+        } else if ("active".equals(status)) {
+            return TENDER_ACTIVE;
+        } else if ("ended".equals(status)) {
+            return TENDER_ENDED;
+        }
+        return OTHER;
+    }
+
+    /**
+     * Read-only view of the columns, only valid inside {@link #read}.
+     * Rows with a {@link #DELETED} status must be skipped.
+     */
+    public class Columns {
+        public int bidCount() {
+            return bidCount;
+        }
+
+        public long[] bidCreatedAt() {
+            return bidCreatedAt;
+        }
+
+        public double[] bidAmount() {
+            return bidAmount;
+        }
+
+        public byte[] bidStatus() {
+            return bidStatus;
+        }
+
+        public int[] bidCompany() {
+            return bidCompany;
+        }
+
+        public int tenderCount() {
+            return tenderCount;
+        }
+
+        public long[] tenderCreatedAt() {
+            return tenderCreatedAt;
+        }
+
+        public double[] tenderBudget() {
+            return tenderBudget;
+        }
+
+        public byte[] tenderStatus() {
+            return tenderStatus;
+        }
+
+        public int[] tenderClient() {
+            return tenderClient;
+        }
+
+        public int[] companyType() {
+            return companyType;
+        }
+
+        public int companyCount() {
+            return companyCount;
+        }
+
+        /**
+         * Get the code of a company type
+         * @param type The company type
+         * @return The type code, or -1 if no company has this type
+         */
+        public int companyTypeCode(String type) {
+            return companyTypes.find(type);
+        }
+
+        /**
+         * Get the code of a client ID
+         * @param clientId The client (user) ID
+         * @return The client code, or -1 if the client has no tenders
+         */
+        public int clientCode(String clientId) {
+            return clientIds.find(clientId);
+        }
+    }
+
+    /**
+     * Assigns consecutive int codes to strings
+     */
+    private static class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        int encode(String value) {
+            return codes.computeIfAbsent(value, key -> codes.size());
+        }
+
+        int find(String value) {
+            return codes.getOrDefault(value, -1);
+        }
+
+        int size() {
+            return codes.size();
+        }
+    }
+}
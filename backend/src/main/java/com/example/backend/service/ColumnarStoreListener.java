@@ -0,0 +1,52 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Bid;
+import com.example.backend.model.Company;
+import com.example.backend.model.Tender;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies saved and deleted bids, tenders and companies to the columnar store.
+ */
+@Component
+@ConditionalOnProperty(name = "analytics.columnar.enabled", havingValue = "true")
+public class ColumnarStoreListener extends AbstractMongoEventListener<Object> {
+
+    @Autowired
+    private ColumnarStore columnarStore;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        Object source = event.getSource();
+        if (source instanceof Bid bid) {
+            columnarStore.upsertBid(bid);
+        } else if (source instanceof Tender tender) {
+            columnarStore.upsertTender(tender);
+        } else if (source instanceof Company company) {
+            columnarStore.upsertCompany(company);
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        // Generated IDs are stored as ObjectIds, whose hex string is the entity ID
+        Object rawId = event.getSource().get("_id");
+        if (rawId == null) {
+            return;
+        }
+        String id = rawId.toString();
+        Class<?> type = event.getType();
+        if (type == Bid.class) {
+            columnarStore.removeBid(id);
+        } else if (type == Tender.class) {
+            columnarStore.removeTender(id);
+        } else if (type == Company.class) {
+            columnarStore.removeCompany(id);
+        }
+    }
+}
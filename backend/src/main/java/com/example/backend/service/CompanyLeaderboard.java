@@ -0,0 +1,339 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Bid;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Per-company bid counters behind the top performing companies ranking. The
+ * standings are kept in memory, ordered by success rate and by awarded value, and
+ * updated as bids are created, change status or are deleted, so a top-N read walks
+ * the head of an ordered set instead of grouping every bid. Other metrics are
+ * ranked with a bounded heap over the standings. Loaded on first use and rebuilt
+ * periodically from the bids collection to correct drift from writes that bypass
+ * the services.
+ */
+@Service
+public class CompanyLeaderboard {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompanyLeaderboard.class);
+
+    /**
+     * Metrics companies can be ranked by, highest first
+     */
+    public enum Metric {
+        SUCCESS_RATE("successRate"),
+        AWARDED_VALUE("awardedValue"),
+        TOTAL_BIDS("totalBids"),
+        ACCEPTED_BIDS("acceptedBids"),
+        TOTAL_BID_VALUE("totalBidValue");
+
+        private final String name;
+
+        Metric(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Look up a metric by its response field name
+         * @param name The name, e.g. "successRate"
+         * @return The metric
+         * @throws IllegalArgumentException If the name is not a metric
+         */
+        public static Metric fromName(String name) {
+            for (Metric metric : values()) {
+                if (metric.name.equalsIgnoreCase(name)) {
+                    return metric;
+                }
+            }
+            throw new IllegalArgumentException("Unknown ranking metric: " + name);
+        }
+    }
+
+    // Ties go to the company with more evidence, then to the lower ID to keep the order total
+    private static final Comparator<Standing> BY_SUCCESS_RATE = Comparator
+            .comparingDouble(Standing::getSuccessRate).reversed()
+            .thenComparing(Comparator.comparingLong(Standing::getAcceptedBids).reversed())
+            .thenComparing(Standing::getCompanyId);
+    private static final Comparator<Standing> BY_AWARDED_VALUE = Comparator
+            .comparingDouble(Standing::getAwardedValue).reversed()
+            .thenComparing(Standing::getCompanyId);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Guarded by this
+    private final Map<String, Standing> standings = new HashMap<>();
+    private final NavigableSet<Standing> bySuccessRate = new TreeSet<>(BY_SUCCESS_RATE);
+    private final NavigableSet<Standing> byAwardedValue = new TreeSet<>(BY_AWARDED_VALUE);
+    private boolean loaded;
+
+    /**
+     * Get the top ranked companies, skipping companies without a name
+     * @param metric The metric to rank by
+     * @param limit Number of companies to return
+     * @param minBids Minimum number of bids a company needs to be ranked, so small
+     *                samples don't dominate the success rate ranking
+     * @return The standings, best first
+     */
+    public List<Standing> top(Metric metric, int limit, long minBids) {
+        ensureLoaded();
+        synchronized (this) {
+            switch (metric) {
+                case SUCCESS_RATE:
+                    return head(bySuccessRate, limit, minBids);
+                case AWARDED_VALUE:
+                    return head(byAwardedValue, limit, minBids);
+                default:
+                    return topByHeap(comparatorOf(metric), limit, minBids);
+            }
+        }
+    }
+
+    public void recordBidCreated(Bid bid) {
+        boolean accepted = "accepted".equals(bid.getStatus());
+        apply(bid, 1, accepted ? 1 : 0, bid.getAmount(), accepted ? bid.getAmount() : 0);
+    }
+
+    /**
+     * Apply a bid's status change
+     * @param bid The bid, carrying its new status
+     * @param previousStatus The status before the change
+     */
+    public void recordBidStatusChange(Bid bid, String previousStatus) {
+        boolean wasAccepted = "accepted".equals(previousStatus);
+        boolean isAccepted = "accepted".equals(bid.getStatus());
+        if (wasAccepted != isAccepted) {
+            int delta = isAccepted ? 1 : -1;
+            apply(bid, 0, delta, 0, delta * bid.getAmount());
+        }
+    }
+
+    public void recordBidDeleted(Bid bid) {
+        boolean accepted = "accepted".equals(bid.getStatus());
+        apply(bid, -1, accepted ? -1 : 0, -bid.getAmount(), accepted ? -bid.getAmount() : 0);
+    }
+
+    /**
+     * Recompute all standings from the bids collection. Changes recorded while the
+     * aggregation runs can be lost; the next rebuild picks them up.
+     */
+    public void rebuild() {
+        List<Standing> computed = aggregateStandings();
+        synchronized (this) {
+            standings.clear();
+            bySuccessRate.clear();
+            byAwardedValue.clear();
+            for (Standing standing : computed) {
+                put(standing);
+            }
+            loaded = true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.leaderboard.rebuild-interval-ms:900000}",
+            initialDelayString = "${dashboard.leaderboard.rebuild-interval-ms:900000}")
+    public void rebuildPeriodically() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            logger.warn("Could not rebuild the company leaderboard: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Compute the standing of every company that has bids
+     * @return One standing per company
+     */
+    protected List<Standing> aggregateStandings() {
+        TypedAggregation<Bid> aggregation = newAggregation(Bid.class,
+                group("companyId")
+                        .count().as("totalBids")
+                        .sum(ConditionalOperators.when(where("status").is("accepted")).then(1).otherwise(0))
+                        .as("acceptedBids")
+                        .sum("amount").as("totalBidValue")
+                        .sum(ConditionalOperators.when(where("status").is("accepted")).thenValueOf("amount").otherwise(0))
+                        .as("awardedValue")
+                        .first("companyName").as("companyName"));
+
+        List<Standing> result = new ArrayList<>();
+        for (Document group : mongoTemplate.aggregate(aggregation, Document.class)) {
+            Object companyId = group.get("_id");
+            if (companyId == null) {
+                continue;
+            }
+            result.add(new Standing(companyId.toString(), group.getString("companyName"),
+                    ((Number) group.get("totalBids")).longValue(), ((Number) group.get("acceptedBids")).longValue(),
+                    ((Number) group.get("totalBidValue")).doubleValue(), ((Number) group.get("awardedValue")).doubleValue()));
+        }
+        return result;
+    }
+
+    private void ensureLoaded() {
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+        }
+        rebuild();
+    }
+
+    private synchronized void apply(Bid bid, long totalBids, long acceptedBids, double totalBidValue, double awardedValue) {
+        // Changes before the first load are part of the loaded standings
+        if (!loaded || bid.getCompanyId() == null) {
+            return;
+        }
+        Standing previous = standings.get(bid.getCompanyId());
+        if (previous != null) {
+            remove(previous);
+        }
+        Standing updated = previous == null
+                ? new Standing(bid.getCompanyId(), bid.getCompanyName(), totalBids, acceptedBids, totalBidValue, awardedValue)
+                : previous.plus(bid.getCompanyName(), totalBids, acceptedBids, totalBidValue, awardedValue);
+        if (updated.getTotalBids() > 0) {
+            put(updated);
+        }
+    }
+
+    private void put(Standing standing) {
+        standings.put(standing.getCompanyId(), standing);
+        bySuccessRate.add(standing);
+        byAwardedValue.add(standing);
+    }
+
+    private void remove(Standing standing) {
+        standings.remove(standing.getCompanyId());
+        bySuccessRate.remove(standing);
+        byAwardedValue.remove(standing);
+    }
+
+    private static List<Standing> head(NavigableSet<Standing> ordered, int limit, long minBids) {
+        List<Standing> result = new ArrayList<>();
+        for (Standing standing : ordered) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (isRanked(standing, minBids)) {
+                result.add(standing);
+            }
+        }
+        return result;
+    }
+
+    private List<Standing> topByHeap(Comparator<Standing> order, int limit, long minBids) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        // Min-heap of the best standings seen so far, its head is the worst of them
+        PriorityQueue<Standing> heap = new PriorityQueue<>(limit, order.reversed());
+        for (Standing standing : standings.values()) {
+            if (!isRanked(standing, minBids)) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.add(standing);
+            } else if (order.compare(standing, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(standing);
+            }
+        }
+        List<Standing> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+
+    private static boolean isRanked(Standing standing, long minBids) {
+        return standing.getCompanyName() != null && standing.getTotalBids() >= minBids;
+    }
+
+    private static Comparator<Standing> comparatorOf(Metric metric) {
+        Comparator<Standing> order;
+        switch (metric) {
+            case TOTAL_BIDS:
+                order = Comparator.comparingLong(Standing::getTotalBids);
+                break;
+            case ACCEPTED_BIDS:
+                order = Comparator.comparingLong(Standing::getAcceptedBids);
+                break;
+            case TOTAL_BID_VALUE:
+                order = Comparator.comparingDouble(Standing::getTotalBidValue);
+                break;
+            default:
+                throw new IllegalArgumentException("No heap ranking for " + metric);
+        }
+        return order.reversed().thenComparing(Standing::getCompanyId);
+    }
+
+    /**
+     * The bid counters of one company
+     */
+    public static final class Standing {
+        private final String companyId;
+        private final String companyName;
+        private final long totalBids;
+        private final long acceptedBids;
+        private final double totalBidValue;
+        private final double awardedValue; // Sum of the accepted bid amounts
+
+        public Standing(String companyId, String companyName, long totalBids, long acceptedBids,
+                        double totalBidValue, double awardedValue) {
+            this.companyId = companyId;
+            this.companyName = companyName;
+            this.totalBids = totalBids;
+            this.acceptedBids = acceptedBids;
+            this.totalBidValue = totalBidValue;
+            this.awardedValue = awardedValue;
+        }
+
+        Standing plus(String name, long totalBids, long acceptedBids, double totalBidValue, double awardedValue) {
+            return new Standing(companyId, companyName != null ? companyName : name,
+                    this.totalBids + totalBids, this.acceptedBids + acceptedBids,
+                    this.totalBidValue + totalBidValue, this.awardedValue + awardedValue);
+        }
+
+        public String getCompanyId() {
+            return companyId;
+        }
+
+        public String getCompanyName() {
+            return companyName;
+        }
+
+        public long getTotalBids() {
+            return totalBids;
+        }
+
+        public long getAcceptedBids() {
+            return acceptedBids;
+        }
+
+        public double getTotalBidValue() {
+            return totalBidValue;
+        }
+
+        public double getAwardedValue() {
+            return awardedValue;
+        }
+
+        /**
+         * Share of the bids that were accepted, as a percentage
+         */
+        public double getSuccessRate() {
+            return totalBids == 0 ? 0 : (double) acceptedBids / totalBids * 100;
+        }
+    }
+}
@@ -1,24 +1,53 @@
 package com.example.backend.service;
 
+import com.example.backend.event.AnalyticsDataChangedEvent;
 import com.example.backend.model.Company;
 import com.example.backend.model.Review;
 import com.example.backend.repository.CompanyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
 @Service
 public class CompanyService {
 
     @Autowired
     private CompanyRepository companyRepository;
 
+    @Autowired
+    private TenderAwardService tenderAwardService;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private ActivityFeedService activityFeedService;
+
+    @Autowired
+    private WriteBehindService writeBehindService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Company> getAllCompanies() {
         return companyRepository.findAll();
     }
@@ -44,16 +73,20 @@ public class CompanyService {
     }
 
     public Company createCompany(Company company) {
-        String now = LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME);
+        Instant now = Instant.now();
         company.setCreatedAt(now);
         company.setUpdatedAt(now);
         company.setRating(0.0); // Default rating for new companies
-        return companyRepository.save(company);
+        Company savedCompany = companyRepository.save(company);
+        dashboardCounterService.recordCompanyCreated();
+        eventPublisher.publishEvent(AnalyticsDataChangedEvent.forCompany(savedCompany.getId()).in(DataVersions.COMPANIES));
+        return savedCompany;
     }
 
     public Company updateCompany(String id, Company companyDetails) {
         return companyRepository.findById(id)
                 .map(company -> {
+                    boolean typeChanged = !Objects.equals(company.getType(), companyDetails.getType());
                     company.setName(companyDetails.getName());
                     company.setLicense(companyDetails.getLicense());
                     company.setType(companyDetails.getType());
@@ -65,45 +98,93 @@ public class CompanyService {
                     company.setServices(companyDetails.getServices());
                     company.setCoverImage(companyDetails.getCoverImage());
                     company.setProfileIcon(companyDetails.getProfileIcon());
-                    company.setUpdatedAt(LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
-                    return companyRepository.save(company);
+                    company.setUpdatedAt(Instant.now());
+                    Company savedCompany = companyRepository.save(company);
+                    AnalyticsDataChangedEvent event = AnalyticsDataChangedEvent.forCompany(savedCompany.getId())
+                            .in(DataVersions.COMPANIES);
+                    if (typeChanged) {
+                        tenderAwardService.updateWinningCompanyType(savedCompany.getId(), savedCompany.getType());
+                        event = event.in(DataVersions.TENDERS);
+                    }
+                    eventPublisher.publishEvent(event);
+                    return savedCompany;
                 })
                 .orElseThrow(() -> new RuntimeException("Company not found with id " + id));
     }
 
     public void deleteCompany(String id) {
+        boolean exists = companyRepository.existsById(id);
         companyRepository.deleteById(id);
+        if (exists) {
+            dashboardCounterService.recordCompanyDeleted();
+        }
+        eventPublisher.publishEvent(AnalyticsDataChangedEvent.forCompany(id).in(DataVersions.COMPANIES));
     }
 
     public Company addReview(String companyId, Review review) {
-        Optional<Company> companyOpt = companyRepository.findById(companyId);
-        if (companyOpt.isPresent()) {
-            Company company = companyOpt.get();
+        // Set the review date
+        review.setDate(LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
 
-            // Set the review date
-            review.setDate(LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
+        // Ensure review has an ID
+        if (review.getId() == null) {
+            review.setId(UUID.randomUUID().toString());
+        }
 
-            // Ensure review has an ID
-            if (review.getId() == null) {
-                review.setId(UUID.randomUUID().toString());
-            }
+        // Add the review in one atomic update, so concurrent reviews are all kept
+        Company company = mongoTemplate.findAndModify(query(where("_id").is(companyId)),
+                new Update().push("reviews", review),
+                FindAndModifyOptions.options().returnNew(true), Company.class);
+        if (company == null) {
+            throw new RuntimeException("Company not found with id: " + companyId);
+        }
 
-            // Initialize reviews list if null
-            if (company.getReviews() == null) {
-                company.setReviews(new ArrayList<>());
-            }
+        // Update company rating from the reviews it now has; the stored rating is written behind
+        double totalRating = company.getReviews().stream()
+                .mapToDouble(Review::getRating)
+                .sum();
+        company.setRating(totalRating / company.getReviews().size());
+        writeBehindService.submit(Company.class, companyId,
+                new RatingUpdate(company.getReviews().size(), company.getRating()));
+
+        activityFeedService.recordReviewPosted(company, review);
+        // The push bypasses the mapping events; the rating flush publishes its own change
+        eventPublisher.publishEvent(AnalyticsDataChangedEvent.forCompany(companyId).in(DataVersions.COMPANIES));
+        return company;
+    }
 
-            // Add the review
-            company.getReviews().add(review);
+    /**
+     * A company rating computed from its first reviewCount reviews. Of two pending
+     * ratings the one that saw more reviews wins, and it is not written over a
+     * rating that already counted more reviews.
+     */
+    private static final class RatingUpdate implements WriteBehindService.PendingUpdate {
+        private final int reviewCount;
+        private final double rating;
+
+        RatingUpdate(int reviewCount, double rating) {
+            this.reviewCount = reviewCount;
+            this.rating = rating;
+        }
 
-            // Update company rating
-            double totalRating = company.getReviews().stream()
-                    .mapToDouble(Review::getRating)
-                    .sum();
-            company.setRating(totalRating / company.getReviews().size());
+        @Override
+        public WriteBehindService.PendingUpdate merge(WriteBehindService.PendingUpdate later) {
+            return ((RatingUpdate) later).reviewCount >= reviewCount ? later : this;
+        }
+
+        @Override
+        public UpdateDefinition toUpdate() {
+            return Update.update("rating", rating);
+        }
+
+        @Override
+        public Criteria condition() {
+            // No more reviews than this rating counted
+            return where("reviews." + reviewCount).exists(false);
+        }
 
-            return companyRepository.save(company);
+        @Override
+        public boolean isIdempotent() {
+            return true;
         }
-        throw new RuntimeException("Company not found with id: " + companyId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.example.backend.service;
+
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Resolves the user behind the JWT of the current request.
+ */
+@Service
+public class CurrentUserService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Get the authenticated user
+     * @return The user, or empty for anonymous requests and unknown principals
+     */
+    public Optional<User> currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        // The principal name is the user's email
+        return userRepository.findByEmail(authentication.getName());
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.DashboardSummaryDTO;
+import com.example.backend.model.Bid;
+import com.example.backend.model.Company;
+import com.example.backend.model.DashboardCounters;
+import com.example.backend.model.Tender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Maintains the dashboard_counters document behind the client dashboard summary.
+ * Write paths queue $inc updates on the write-behind service, which merges them
+ * into one write per flush; a periodic reconciliation recomputes the
+ * counters from the collections to correct drift from failed or concurrent updates.
+ */
+@Service
+public class DashboardCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCounterService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TenderAwardService tenderAwardService;
+
+    @Autowired
+    private WriteBehindService writeBehindService;
+
+    /**
+     * Get the client dashboard summary, reconciling first if the counters were never computed
+     * @return Tender counts by status, total budget, bid counts and company count
+     */
+    public DashboardSummaryDTO getSummary() {
+        DashboardCounters counters = mongoTemplate.findById(DashboardCounters.ID, DashboardCounters.class);
+        if (counters == null || counters.getReconciledAt() == null) {
+            counters = reconcile();
+        }
+
+        return new DashboardSummaryDTO(counters.getTotalTenders(), counters.getActiveTenders(),
+                counters.getCompletedTenders(), counters.getTotalBudget(), counters.getTotalBids(),
+                counters.getAcceptedBids(), counters.getTotalCompanies());
+    }
+
+    public void recordTenderCreated(Tender tender) {
+        Update update = new Update()
+                .inc("totalTenders", 1)
+                .inc("totalBudget", tender.getBudget());
+        incTenderStatus(update, tender.getStatus(), 1);
+        apply(update);
+    }
+
+    /**
+     * Add a batch of created tenders with one counter update
+     * @param tenders The saved tenders
+     */
+    public void recordTendersCreated(List<Tender> tenders) {
+        if (tenders.isEmpty()) {
+            return;
+        }
+        Update update = new Update()
+                .inc("totalTenders", tenders.size())
+                .inc("totalBudget", tenders.stream().mapToDouble(Tender::getBudget).sum());
+        Map<String, Integer> byStatus = new HashMap<>();
+        for (Tender tender : tenders) {
+            byStatus.merge(String.valueOf(tender.getStatus()), 1, Integer::sum);
+        }
+        byStatus.forEach((status, count) -> incTenderStatus(update, status, count));
+        apply(update);
+    }
+
+    /**
+     * Apply a tender's status and budget change
+     * @param previousStatus The status before the update
+     * @param previousBudget The budget before the update
+     * @param tender The updated tender
+     */
+    public void recordTenderUpdated(String previousStatus, double previousBudget, Tender tender) {
+        Update update = new Update();
+        if (tender.getBudget() != previousBudget) {
+            update.inc("totalBudget", tender.getBudget() - previousBudget);
+        }
+        if (!Objects.equals(previousStatus, tender.getStatus())) {
+            incTenderStatus(update, previousStatus, -1);
+            incTenderStatus(update, tender.getStatus(), 1);
+        }
+        if (!update.getUpdateObject().isEmpty()) {
+            apply(update);
+        }
+    }
+
+    /**
+     * Apply the close of a batch of tenders with one counter update
+     * @param previousStatuses The status before the close of each closed tender
+     */
+    public void recordTendersClosed(Collection<String> previousStatuses) {
+        if (previousStatuses.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> byStatus = new HashMap<>();
+        for (String status : previousStatuses) {
+            byStatus.merge(String.valueOf(status), 1, Integer::sum);
+        }
+        byStatus.put("ended", byStatus.getOrDefault("ended", 0) - previousStatuses.size());
+        Update update = new Update();
+        byStatus.forEach((status, count) -> incTenderStatus(update, status, -count));
+        if (!update.getUpdateObject().isEmpty()) {
+            apply(update);
+        }
+    }
+
+    public void recordTenderDeleted(Tender tender) {
+        Update update = new Update()
+                .inc("totalTenders", -1)
+                .inc("totalBudget", -tender.getBudget());
+        incTenderStatus(update, tender.getStatus(), -1);
+        apply(update);
+    }
+
+    public void recordBidCreated(Bid bid) {
+        Update update = new Update().inc("totalBids", 1);
+        if ("accepted".equals(bid.getStatus())) {
+            update.inc("acceptedBids", 1);
+        }
+        apply(update);
+    }
+
+    /**
+     * Add a batch of created bids with one counter update
+     * @param bids The saved bids
+     */
+    public void recordBidsCreated(List<Bid> bids) {
+        if (bids.isEmpty()) {
+            return;
+        }
+        long accepted = bids.stream().filter(bid -> "accepted".equals(bid.getStatus())).count();
+        Update update = new Update().inc("totalBids", bids.size());
+        if (accepted > 0) {
+            update.inc("acceptedBids", accepted);
+        }
+        apply(update);
+    }
+
+    /**
+     * Apply a bid's status change
+     * @param bid The bid, carrying its new status
+     * @param previousStatus The status before the change
+     */
+    public void recordBidStatusChange(Bid bid, String previousStatus) {
+        boolean wasAccepted = "accepted".equals(previousStatus);
+        boolean isAccepted = "accepted".equals(bid.getStatus());
+        if (wasAccepted != isAccepted) {
+            apply(new Update().inc("acceptedBids", isAccepted ? 1 : -1));
+        }
+    }
+
+    /**
+     * Apply the status changes of a batch of bids with one counter update
+     * @param bids The bids, carrying their new status
+     * @param previousStatuses The status before the change by bid ID
+     */
+    public void recordBidStatusChanges(List<Bid> bids, Map<String, String> previousStatuses) {
+        long delta = 0;
+        for (Bid bid : bids) {
+            boolean wasAccepted = "accepted".equals(previousStatuses.get(bid.getId()));
+            boolean isAccepted = "accepted".equals(bid.getStatus());
+            if (wasAccepted != isAccepted) {
+                delta += isAccepted ? 1 : -1;
+            }
+        }
+        if (delta != 0) {
+            apply(new Update().inc("acceptedBids", delta));
+        }
+    }
+
+    public void recordBidDeleted(Bid bid) {
+        Update update = new Update().inc("totalBids", -1);
+        if ("accepted".equals(bid.getStatus())) {
+            update.inc("acceptedBids", -1);
+        }
+        apply(update);
+    }
+
+    public void recordCompanyCreated() {
+        apply(new Update().inc("totalCompanies", 1));
+    }
+
+    public void recordCompanyDeleted() {
+        apply(new Update().inc("totalCompanies", -1));
+    }
+
+    /**
+     * Recompute the counters from the collections. Increments applied while the
+     * counts run can be overwritten; the next reconciliation corrects them.
+     * @return The recomputed counters
+     */
+    public DashboardCounters reconcile() {
+        // Write pending increments first, so they are not applied again over the recomputed counters
+        writeBehindService.flush();
+        DashboardCounters counters = new DashboardCounters();
+        counters.setId(DashboardCounters.ID);
+        counters.setTotalTenders(mongoTemplate.count(new Query(), Tender.class));
+        counters.setActiveTenders(mongoTemplate.count(query(where("status").is("active")), Tender.class));
+        counters.setCompletedTenders(mongoTemplate.count(query(where("status").is("ended")), Tender.class));
+        counters.setTotalBudget(tenderAwardService.getBudgetTotals().get("totalBudget"));
+        counters.setTotalBids(mongoTemplate.count(new Query(), Bid.class));
+        counters.setAcceptedBids(mongoTemplate.count(query(where("status").is("accepted")), Bid.class));
+        counters.setTotalCompanies(mongoTemplate.count(new Query(), Company.class));
+        counters.setReconciledAt(Instant.now());
+        return mongoTemplate.save(counters);
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.counters.reconcile-interval-ms:900000}",
+            initialDelayString = "${dashboard.counters.reconcile-interval-ms:900000}")
+    public void reconcilePeriodically() {
+        try {
+            reconcile();
+        } catch (DataAccessException e) {
+            logger.warn("Could not reconcile dashboard counters: {}", e.getMessage());
+        }
+    }
+
+    private void incTenderStatus(Update update, String status, int delta) {
+        if ("active".equals(status)) {
+            update.inc("activeTenders", delta);
+        } else if ("ended".equals(status)) {
+            update.inc("completedTenders", delta);
+        }
+    }
+
+    // Every write touches the one counters document, so they are merged and written behind
+    private void apply(Update update) {
+        writeBehindService.submit(DashboardCounters.class, DashboardCounters.ID,
+                WriteBehindService.Counters.of(update, true));
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.*;
+import com.example.backend.model.Bid;
+import com.example.backend.model.Tender;
+import com.example.backend.repository.BidRepository;
+import com.example.backend.util.TimeBuckets;
+import com.example.backend.util.TimeBuckets.Granularity;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Range;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+
+/**
+ * The platform-wide sections of the client dashboard, and the response shapes
+ * they share with the client-scoped variants.
+ */
+@Service
+public class DashboardService {
+
+    private static final List<String> TENDER_STATUS_LABELS = List.of("New", "Active", "Ended");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private TenderAwardService tenderAwardService;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private CompanyLeaderboard companyLeaderboard;
+
+    // Only present when analytics.columnar.enabled=true
+    @Autowired(required = false)
+    private ColumnarAnalyticsService columnarAnalyticsService;
+
+    /**
+     * Get summary statistics for client dashboard
+     * @return The statistics
+     */
+    public DashboardSummaryDTO getSummary() {
+        // Read the incrementally maintained counters instead of loading every tender and bid
+        return dashboardCounterService.getSummary();
+    }
+
+    /**
+     * Get tender status distribution for client dashboard
+     * @return Status labels and counts
+     */
+    public LabeledCountsDTO getTenderStatusDistribution() {
+        // Count tenders by status on the server instead of loading them all
+        TypedAggregation<Tender> aggregation = newAggregation(Tender.class,
+                group("status").count().as("count"));
+
+        Map<String, Long> statusCounts = new HashMap<>();
+        for (Document bucket : mongoTemplate.aggregate(aggregation, Document.class)) {
+            statusCounts.put(bucket.getString("_id"), ((Number) bucket.get("count")).longValue());
+        }
+
+        return statusDistribution(statusCounts.getOrDefault("new", 0L),
+                statusCounts.getOrDefault("active", 0L),
+                statusCounts.getOrDefault("ended", 0L));
+    }
+
+    /**
+     * Get bid activity by month for client dashboard
+     * @param months Number of months to look back
+     * @param zone The time zone of the calendar months
+     * @return Month labels, year-qualified month keys and bid counts
+     */
+    public CountSeriesDTO getBidActivityByMonth(int months, ZoneId zone) {
+        // Calendar months ending with the current one
+        TimeBuckets buckets = TimeBuckets.last(months, Granularity.MONTH, ZonedDateTime.now(zone));
+
+        long[] counts;
+        if (columnarAnalyticsService != null && columnarAnalyticsService.isReady()) {
+            // Scan the in-memory columnar store
+            counts = columnarAnalyticsService.countBids(buckets);
+        } else {
+            // Load only the bids in the date range with an indexed range query
+            counts = buckets.count(bidRepository.findByCreatedAtBetween(
+                    Range.rightOpen(buckets.getFrom(), buckets.getTo())), Bid::getCreatedAt);
+        }
+
+        return new CountSeriesDTO(buckets.labels(), buckets.keys(), counts);
+    }
+
+    /**
+     * Get budget utilization statistics for client dashboard
+     * @return The budget statistics
+     */
+    public BudgetUtilizationDTO getBudgetUtilization() {
+        // Total budget and utilized budget (the awarded amount of each tender) in one aggregation
+        return budgetUtilization(tenderAwardService.getBudgetTotals());
+    }
+
+    /**
+     * Get company performance metrics for client dashboard
+     * @param metric The metric to rank by
+     * @param limit Number of top companies to return
+     * @param minBids Minimum number of bids a company needs to be ranked
+     * @return List of top performing companies
+     */
+    public List<CompanyRankingDTO> getTopCompanies(CompanyLeaderboard.Metric metric, int limit, long minBids) {
+        // Read the head of the incrementally maintained leaderboard
+        List<CompanyRankingDTO> result = new ArrayList<>();
+        for (CompanyLeaderboard.Standing standing : companyLeaderboard.top(metric, limit, minBids)) {
+            result.add(new CompanyRankingDTO(standing.getCompanyId(), standing.getCompanyName(),
+                    standing.getTotalBids(), standing.getAcceptedBids(), standing.getSuccessRate(),
+                    standing.getTotalBidValue(), standing.getAwardedValue()));
+        }
+        return result;
+    }
+
+    public LabeledCountsDTO statusDistribution(long newCount, long activeCount, long endedCount) {
+        return new LabeledCountsDTO(TENDER_STATUS_LABELS, new long[]{newCount, activeCount, endedCount});
+    }
+
+    public BudgetUtilizationDTO budgetUtilization(Map<String, Double> budgetTotals) {
+        double totalBudget = budgetTotals.get("totalBudget");
+        double utilizedBudget = budgetTotals.get("utilizedBudget");
+
+        // Calculate remaining budget
+        double remainingBudget = totalBudget - utilizedBudget;
+
+        // Calculate utilization percentage
+        double utilizationPercentage = totalBudget > 0 ? (utilizedBudget / totalBudget) * 100 : 0;
+
+        return new BudgetUtilizationDTO(totalBudget, utilizedBudget, remainingBudget, utilizationPercentage);
+    }
+
+    /**
+     * Rank the companies behind a set of bids by success rate
+     * @param allBids The bids
+     * @param limit Number of top companies to return
+     * @return List of top performing companies
+     */
+    public List<CompanyRankingDTO> topCompanies(List<Bid> allBids, int limit) {
+        // Group bids by company; bids without a company cannot be ranked
+        Map<String, List<Bid>> bidsByCompany = allBids.stream()
+                .filter(bid -> bid.getCompanyId() != null)
+                .collect(Collectors.groupingBy(Bid::getCompanyId));
+
+        // Calculate performance metrics for each company
+        List<CompanyRankingDTO> companyMetrics = new ArrayList<>();
+
+        for (Map.Entry<String, List<Bid>> entry : bidsByCompany.entrySet()) {
+            String companyId = entry.getKey();
+            List<Bid> companyBids = entry.getValue();
+
+            // Skip if no company name (shouldn't happen in real data)
+            if (companyBids.isEmpty() || companyBids.get(0).getCompanyName() == null) {
+                continue;
+            }
+
+            String companyName = companyBids.get(0).getCompanyName();
+
+            // Calculate success rate
+            long acceptedBids = companyBids.stream()
+                    .filter(bid -> "accepted".equals(bid.getStatus()))
+                    .count();
+            double successRate = companyBids.isEmpty() ? 0 : (double) acceptedBids / companyBids.size() * 100;
+
+            // Calculate total bid value
+            double totalBidValue = companyBids.stream()
+                    .mapToDouble(Bid::getAmount)
+                    .sum();
+
+            companyMetrics.add(new CompanyRankingDTO(companyId, companyName, companyBids.size(), acceptedBids,
+                    successRate, totalBidValue, null));
+        }
+
+        // Sort by success rate (highest first)
+        companyMetrics.sort(Comparator.comparingDouble(CompanyRankingDTO::successRate).reversed());
+
+        // Take only the requested number of companies
+        return companyMetrics.stream()
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Precomputes the platform-wide client dashboard (summary, tender status, bid
+ * activity, budget utilization and top companies) on a schedule and serializes it
+ * to JSON once. Each build is published by swapping an atomic reference, so
+ * requests serve the bytes of the latest complete snapshot without computing
+ * anything; a failed build keeps the previous snapshot. Reports the snapshot age
+ * and build duration as the dashboard.snapshot.age and dashboard.snapshot.build metrics.
+ */
+@Service
+public class DashboardSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSnapshotService.class);
+
+    // The parameters of the snapshot sections, the defaults of the individual endpoints
+    private static final int BID_ACTIVITY_MONTHS = 6;
+    private static final int TOP_COMPANIES = 5;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final Timer buildTimer;
+    private long lastVersion; // Guarded by this
+
+    public DashboardSnapshotService(MeterRegistry meterRegistry) {
+        this.buildTimer = Timer.builder("dashboard.snapshot.build")
+                .description("Time to compute and serialize a client dashboard snapshot")
+                .register(meterRegistry);
+        Gauge.builder("dashboard.snapshot.age", this, DashboardSnapshotService::ageSeconds)
+                .description("Seconds since the published client dashboard snapshot was built")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the latest snapshot, building the first one if none was published yet
+     * @return The snapshot
+     */
+    public Snapshot getSnapshot() {
+        Snapshot snapshot = current.get();
+        return snapshot != null ? snapshot : build();
+    }
+
+    /**
+     * Compute all sections, serialize them and publish the result
+     * @return The published snapshot
+     */
+    public synchronized Snapshot build() {
+        long start = System.nanoTime();
+
+        // Bid activity months are calendar months in the server time zone
+        Map<String, Object> sections = new LinkedHashMap<>();
+        sections.put("summary", dashboardService.getSummary());
+        sections.put("tenderStatus", dashboardService.getTenderStatusDistribution());
+        sections.put("bidActivity", dashboardService.getBidActivityByMonth(BID_ACTIVITY_MONTHS, ZoneId.systemDefault()));
+        sections.put("budgetUtilization", dashboardService.getBudgetUtilization());
+        sections.put("topCompanies", dashboardService.getTopCompanies(
+                CompanyLeaderboard.Metric.SUCCESS_RATE, TOP_COMPANIES, 1));
+
+        long version = lastVersion + 1;
+        Instant builtAt = Instant.now();
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("version", version);
+        document.put("builtAt", builtAt);
+        document.putAll(sections);
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the dashboard snapshot", e);
+        }
+
+        Snapshot snapshot = new Snapshot(version, builtAt, json);
+        current.set(snapshot);
+        lastVersion = version;
+        buildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.snapshot.interval-ms:30000}",
+            initialDelayString = "${dashboard.snapshot.interval-ms:30000}")
+    public void buildPeriodically() {
+        try {
+            build();
+        } catch (RuntimeException e) {
+            logger.warn("Could not build the dashboard snapshot, serving the previous one: {}", e.getMessage());
+        }
+    }
+
+    private double ageSeconds() {
+        Snapshot snapshot = current.get();
+        return snapshot == null ? Double.NaN : Duration.between(snapshot.getBuiltAt(), Instant.now()).toMillis() / 1000.0;
+    }
+
+    /**
+     * A published snapshot. The JSON array is shared by all readers and must not be modified.
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final Instant builtAt;
+        private final byte[] json;
+
+        Snapshot(long version, Instant builtAt, byte[] json) {
+            this.version = version;
+            this.builtAt = builtAt;
+            this.json = json;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public Instant getBuiltAt() {
+            return builtAt;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Bid;
+import com.example.backend.model.Company;
+import com.example.backend.model.Tender;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bumps the data versions of every saved or deleted document's collection, and
+ * of the company or client it belongs to.
+ */
+@Component
+public class DataVersionListener extends AbstractMongoEventListener<Object> {
+
+    @Autowired
+    private DataVersions dataVersions;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        dataVersions.bump(event.getCollectionName());
+        Object source = event.getSource();
+        if (source instanceof Bid bid && bid.getCompanyId() != null) {
+            dataVersions.bump(DataVersions.company(bid.getCompanyId()));
+        } else if (source instanceof Company company && company.getId() != null) {
+            dataVersions.bump(DataVersions.company(company.getId()));
+        } else if (source instanceof Tender tender && tender.getClientId() != null) {
+            dataVersions.bump(DataVersions.client(tender.getClientId()));
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        dataVersions.bump(event.getCollectionName());
+        // Generated IDs are stored as ObjectIds, whose hex string is the entity ID
+        Object rawId = event.getSource().get("_id");
+        Class<?> type = event.getType();
+        if (rawId != null && type == Company.class) {
+            dataVersions.bump(DataVersions.company(rawId.toString()));
+        }
+    }
+}
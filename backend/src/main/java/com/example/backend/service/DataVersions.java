@@ -0,0 +1,84 @@
+package com.example.backend.service;
+
+import com.example.backend.event.AnalyticsDataChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonically increasing version counters of the data behind the read
+ * endpoints, one per collection, one per company and one per client, bumped
+ * after every write.
+ * Responses derive their ETags from these, so a conditional GET can be answered
+ * without reading any data. The counters live in memory and start from zero on
+ * every start; the start time is part of the ETags to keep them unique.
+ */
+@Service
+public class DataVersions {
+
+    public static final String TENDERS = "tenders";
+    public static final String BIDS = "bids";
+    public static final String COMPANIES = "companies";
+    public static final String COUNTERS = "dashboard_counters";
+
+    private final long epoch = System.currentTimeMillis();
+    private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Version key of a company's data: the company and its bids
+     */
+    public static String company(String companyId) {
+        return "company:" + companyId;
+    }
+
+    /**
+     * Version key of a client's data: their tenders and the bids on them
+     */
+    public static String client(String clientId) {
+        return "client:" + clientId;
+    }
+
+    /**
+     * Get the current version of a key
+     * @param key A collection name or a company or client key
+     * @return The version, 0 if the key was never bumped
+     */
+    public long get(String key) {
+        AtomicLong version = versions.get(key);
+        return version != null ? version.get() : 0;
+    }
+
+    public void bump(String key) {
+        versions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * The time the counters started from zero, in epoch millis
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Service writes may update collections with partial updates that bypass the
+     * mapping events (award outcomes, copied tender details, written-behind
+     * counters), so the collections the event names are bumped along with the
+     * affected companies and clients.
+     * @param event The data change
+     */
+    @EventListener
+    public void onDataChanged(AnalyticsDataChangedEvent event) {
+        for (String collection : event.getCollections()) {
+            bump(collection);
+        }
+        for (String companyId : event.getCompanyIds()) {
+            bump(company(companyId));
+        }
+        for (String clientId : event.getClientIds()) {
+            bump(client(clientId));
+        }
+    }
+}
@@ -11,8 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -185,10 +184,10 @@ public class PortfolioService {
         company.setFundingSources(portfolioDTO.getFundingSources());
 
         // Update timestamps
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        company.setUpdatedAt(LocalDateTime.now().format(formatter));
+        Instant now = Instant.now();
+        company.setUpdatedAt(now);
         if (company.getCreatedAt() == null) {
-            company.setCreatedAt(LocalDateTime.now().format(formatter));
+            company.setCreatedAt(now);
         }
 
         // Save the final updated company
@@ -0,0 +1,195 @@
+package com.example.backend.service;
+
+import com.example.backend.event.AnalyticsDataChangedEvent;
+import com.example.backend.event.TenderUpdateEvent;
+import com.example.backend.model.Bid;
+import com.example.backend.model.Tender;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Closes open tenders whose deadline has passed. Expired tenders are read in
+ * batches, oldest deadline first, from the (status, deadline) index, and each
+ * batch is closed and awarded with a few writes for the whole batch. Each batch
+ * starts after the last tender of the previous one, so tenders that fail to close
+ * are retried on the next run without holding up the rest.
+ */
+@Service
+public class TenderAutoCloseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenderAutoCloseService.class);
+
+    // Marks the tenders claimed by one batch until their award is written
+    private static final String CLAIM_FIELD = "autoCloseClaim";
+
+    @Autowired
+    private BidAwardService bidAwardService;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private ActivityFeedService activityFeedService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final DistributionSummary batchSizes;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public TenderAutoCloseService(MeterRegistry meterRegistry,
+                                  @Value("${tenders.auto-close.batch-size:200}") int batchSize,
+                                  @Value("${tenders.auto-close.max-batches:50}") int maxBatches) {
+        this.batchSizes = DistributionSummary.builder("tenders.auto-close.batch")
+                .description("Expired tenders closed per batch")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * Close open tenders whose deadline is before the given time
+     * @param now The current time
+     * @return Number of tenders closed
+     */
+    public int closeExpiredTenders(Instant now) {
+        int closed = 0;
+        Tender last = null;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            // Continue after the last tender tried, so tenders that fail to close do not block the ones behind them
+            Criteria criteria = where("status").in("new", "active").and("deadline").lt(now);
+            if (last != null) {
+                criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(
+                        where("deadline").gt(last.getDeadline()),
+                        where("deadline").is(last.getDeadline()).and("_id").gt(last.getId())));
+            }
+            Query query = new Query(criteria)
+                    .with(Sort.by(Sort.Direction.ASC, "deadline", "_id"))
+                    .limit(batchSize);
+            query.fields().include("_id").include("deadline").include("status");
+
+            List<Tender> expired = mongoTemplate.find(query, Tender.class);
+            if (expired.isEmpty()) {
+                break;
+            }
+            int closedInBatch = 0;
+            try {
+                closedInBatch = closeBatch(expired);
+            } catch (RuntimeException e) {
+                logger.warn("Could not close a batch of {} expired tenders: {}", expired.size(), e.getMessage());
+            }
+            batchSizes.record(closedInBatch);
+            closed += closedInBatch;
+            if (expired.size() < batchSize) {
+                break;
+            }
+            last = expired.get(expired.size() - 1);
+        }
+        return closed;
+    }
+
+    /**
+     * Close and award a batch of expired tenders like a manual close, with one
+     * write for the close and one bulk write for the bids of the whole batch
+     * @param expired The expired tenders, carrying their ID and status
+     * @return Number of tenders closed
+     */
+    private int closeBatch(List<Tender> expired) {
+        // Claim the batch in one write, so of concurrent closes only one awards each tender.
+        // A tender closed or edited since it was read no longer matches its status and is left out.
+        String claim = UUID.randomUUID().toString();
+        Map<String, String> previousStatuses = new HashMap<>();
+        List<Criteria> unchanged = new ArrayList<>();
+        for (Tender tender : expired) {
+            previousStatuses.put(tender.getId(), tender.getStatus());
+            unchanged.add(where("_id").is(tender.getId()).and("status").is(tender.getStatus()));
+        }
+        UpdateResult result = mongoTemplate.updateMulti(new Query(new Criteria().orOperator(unchanged)),
+                new Update().set("status", "ended").set(CLAIM_FIELD, claim), Tender.class);
+        if (result.getModifiedCount() == 0) {
+            return 0;
+        }
+        List<Tender> claimed = mongoTemplate.find(query(where(CLAIM_FIELD).is(claim)), Tender.class);
+
+        Map<String, List<Bid>> bidsByTender;
+        try {
+            bidsByTender = bidAwardService.awardLowestBids(claimed);
+        } catch (RuntimeException e) {
+            // Release the claim, so the batch is retried on the next run
+            claimed.stream()
+                    .collect(Collectors.groupingBy(tender -> previousStatuses.get(tender.getId()),
+                            Collectors.mapping(Tender::getId, Collectors.toList())))
+                    .forEach((status, ids) -> mongoTemplate.updateMulti(
+                            query(where("_id").in(ids).and(CLAIM_FIELD).is(claim)),
+                            new Update().set("status", status).unset(CLAIM_FIELD), Tender.class));
+            throw e;
+        }
+        mongoTemplate.updateMulti(query(where(CLAIM_FIELD).is(claim)), new Update().unset(CLAIM_FIELD), Tender.class);
+
+        dashboardCounterService.recordTendersClosed(claimed.stream()
+                .map(tender -> previousStatuses.get(tender.getId()))
+                .toList());
+        Set<String> allBidderIds = new HashSet<>();
+        Set<String> clientIds = new HashSet<>();
+        for (Tender tender : claimed) {
+            clientIds.add(tender.getClientId());
+            List<Bid> bids = bidsByTender.getOrDefault(tender.getId(), Collections.emptyList());
+            Set<String> bidderIds = bids.stream()
+                    .map(Bid::getCompanyId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            allBidderIds.addAll(bidderIds);
+            activityFeedService.recordTenderClosed(tender, bids);
+            eventPublisher.publishEvent(TenderUpdateEvent.tenderUpdated(tender, bidderIds));
+        }
+        eventPublisher.publishEvent(AnalyticsDataChangedEvent.forCompanies(allBidderIds)
+                .forClients(clientIds).in(DataVersions.TENDERS, DataVersions.BIDS));
+        return claimed.size();
+    }
+
+    @Scheduled(fixedDelayString = "${tenders.auto-close.interval-ms:60000}",
+            initialDelayString = "${tenders.auto-close.interval-ms:60000}")
+    public void closeExpiredTendersPeriodically() {
+        long start = System.currentTimeMillis();
+        try {
+            int closed = closeExpiredTenders(Instant.now());
+            if (closed > 0) {
+                logger.info("Closed {} expired tenders in {} ms", closed, System.currentTimeMillis() - start);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not close expired tenders: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the award outcome of already awarded tenders from their accepted bids
+ * when the application is started with {@code --backfill-awards}.
+ */
+@Component
+public class TenderAwardBackfillRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenderAwardBackfillRunner.class);
+
+    @Autowired
+    private TenderAwardService tenderAwardService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption("backfill-awards")) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int awarded = tenderAwardService.backfill();
+        logger.info("Backfilled the award outcome of {} tenders in {} ms", awarded, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Bid;
+import com.example.backend.model.Company;
+import com.example.backend.model.Tender;
+import com.example.backend.repository.BidRepository;
+import com.example.backend.repository.CompanyRepository;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+
+/**
+ * Keeps the award outcome (winning bid, company, type, amount and deadline)
+ * denormalized on the tender document, so award analytics can be answered
+ * from the tenders collection alone.
+ */
+@Service
+public class TenderAwardService {
+
+    private static final String[] AWARD_FIELDS = {
+            "winningBidId", "winningCompanyId", "winningCompanyType", "awardedAmount", "awardedDeadline"
+    };
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private BidJoinService bidJoinService;
+
+    /**
+     * Set the award outcome on a tender that is about to be saved
+     * @param tender The tender
+     * @param winningBid The accepted bid
+     */
+    public void applyAward(Tender tender, Bid winningBid) {
+        Company company = winningBid.getCompanyId() != null
+                ? companyRepository.findById(winningBid.getCompanyId()).orElse(null)
+                : null;
+        tender.setWinningBidId(winningBid.getId());
+        tender.setWinningCompanyId(winningBid.getCompanyId());
+        tender.setWinningCompanyType(company != null ? company.getType() : null);
+        tender.setAwardedAmount(winningBid.getAmount());
+        tender.setAwardedDeadline(winningBid.getProposedDeadline());
+    }
+
+    /**
+     * Set and write the award outcome of a batch of tenders, with one company
+     * lookup and one bulk write
+     * @param tenders The closed tenders
+     * @param winningBids The accepted bid by tender ID; tenders without one are left unawarded
+     */
+    public void recordAwards(Collection<Tender> tenders, Map<String, Bid> winningBids) {
+        if (winningBids.isEmpty()) {
+            return;
+        }
+        Map<String, Company> companies = bidJoinService.companiesFor(winningBids.values());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Tender.class);
+        for (Tender tender : tenders) {
+            Bid winningBid = winningBids.get(tender.getId());
+            if (winningBid == null) {
+                continue;
+            }
+            Company company = companies.get(winningBid.getCompanyId());
+            tender.setWinningBidId(winningBid.getId());
+            tender.setWinningCompanyId(winningBid.getCompanyId());
+            tender.setWinningCompanyType(company != null ? company.getType() : null);
+            tender.setAwardedAmount(winningBid.getAmount());
+            tender.setAwardedDeadline(winningBid.getProposedDeadline());
+            bulk.updateOne(new Query(Criteria.where("_id").is(tender.getId())), awardUpdate(winningBid, company));
+        }
+        bulk.execute();
+    }
+
+    /**
+     * Record the award outcome on a bid's tender after the bid was accepted
+     * @param winningBid The accepted bid
+     */
+    public void recordAward(Bid winningBid) {
+        if (winningBid.getTenderId() == null) {
+            return;
+        }
+        Company company = winningBid.getCompanyId() != null
+                ? companyRepository.findById(winningBid.getCompanyId()).orElse(null)
+                : null;
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(winningBid.getTenderId())),
+                awardUpdate(winningBid, company), Tender.class);
+    }
+
+    /**
+     * Clear the award outcome of a bid's tender if the bid was the winning bid
+     * @param bid The bid that is no longer accepted or was deleted
+     */
+    public void clearAward(Bid bid) {
+        if (bid.getTenderId() == null) {
+            return;
+        }
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(bid.getTenderId())
+                        .and("winningBidId").is(bid.getId())),
+                clearUpdate(), Tender.class);
+    }
+
+    /**
+     * Propagate a changed company type to the tenders the company won
+     * @param companyId The company ID
+     * @param companyType The new company type
+     */
+    public void updateWinningCompanyType(String companyId, String companyType) {
+        mongoTemplate.updateMulti(new Query(Criteria.where("winningCompanyId").is(companyId)),
+                Update.update("winningCompanyType", companyType), Tender.class);
+    }
+
+    /**
+     * Recompute the award outcome of every tender from its accepted bid
+     * @return Number of tenders with an award
+     */
+    public int backfill() {
+        // The first accepted bid per tender is the winning bid
+        Map<String, Bid> winningBids = new HashMap<>();
+        for (Bid bid : bidRepository.findByStatus("accepted")) {
+            if (bid.getTenderId() != null) {
+                winningBids.putIfAbsent(bid.getTenderId(), bid);
+            }
+        }
+        Map<String, Company> companies = bidJoinService.companiesFor(winningBids.values());
+
+        if (!winningBids.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Tender.class);
+            for (Bid bid : winningBids.values()) {
+                bulk.updateOne(new Query(Criteria.where("_id").is(bid.getTenderId())),
+                        awardUpdate(bid, companies.get(bid.getCompanyId())));
+            }
+            bulk.execute();
+        }
+
+        // Clear outcomes of tenders that no longer have an accepted bid
+        mongoTemplate.updateMulti(new Query(Criteria.where("winningBidId").exists(true)
+                        .and("_id").nin(winningBids.keySet())),
+                clearUpdate(), Tender.class);
+
+        return winningBids.size();
+    }
+
+    /**
+     * Get the total budget of all tenders and the amount awarded to winning bids
+     * @return Map with totalBudget and utilizedBudget
+     */
+    public Map<String, Double> getBudgetTotals() {
+        return budgetTotals(new Criteria());
+    }
+
+    /**
+     * Get the total budget of a client's tenders and the amount awarded to winning bids
+     * @param clientId The client (user) ID
+     * @return Map with totalBudget and utilizedBudget
+     */
+    public Map<String, Double> getBudgetTotals(String clientId) {
+        return budgetTotals(Criteria.where("clientId").is(clientId));
+    }
+
+    private Map<String, Double> budgetTotals(Criteria criteria) {
+        Document totals = mongoTemplate.aggregate(newAggregation(
+                        match(criteria),
+                        group().sum("budget").as("totalBudget").sum("awardedAmount").as("utilizedBudget")),
+                "tenders", Document.class).getUniqueMappedResult();
+
+        Map<String, Double> result = new HashMap<>();
+        result.put("totalBudget", totals != null ? ((Number) totals.get("totalBudget")).doubleValue() : 0.0);
+        result.put("utilizedBudget", totals != null ? ((Number) totals.get("utilizedBudget")).doubleValue() : 0.0);
+        return result;
+    }
+
+    private Update awardUpdate(Bid winningBid, Company company) {
+        return new Update()
+                .set("winningBidId", winningBid.getId())
+                .set("winningCompanyId", winningBid.getCompanyId())
+                .set("winningCompanyType", company != null ? company.getType() : null)
+                .set("awardedAmount", winningBid.getAmount())
+                .set("awardedDeadline", winningBid.getProposedDeadline());
+    }
+
+    private Update clearUpdate() {
+        Update update = new Update();
+        for (String field : AWARD_FIELDS) {
+            update.unset(field);
+        }
+        return update;
+    }
+}
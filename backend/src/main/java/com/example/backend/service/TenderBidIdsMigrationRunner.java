@@ -0,0 +1,40 @@
+package com.example.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Removes the embedded bidIds array from tenders in the background when the
+ * application is started with {@code --migrate-bid-ids}. Tenders that still
+ * carry the array read and update normally in the meantime.
+ */
+@Component
+public class TenderBidIdsMigrationRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenderBidIdsMigrationRunner.class);
+
+    @Autowired
+    private TenderBidIdsMigrationService tenderBidIdsMigrationService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption("migrate-bid-ids")) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                long start = System.currentTimeMillis();
+                long migrated = tenderBidIdsMigrationService.migrateAll();
+                logger.info("Migrated {} tenders off bidIds in {} ms", migrated, System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                logger.error("Tender bidIds migration failed", e);
+            }
+        }, "bid-ids-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Bid;
+import com.example.backend.model.Tender;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+
+/**
+ * Removes the embedded bidIds array from tenders. The bids' tenderId is the
+ * source of truth, so bids listed on a tender without a tenderId get it, and the
+ * tender's bidsCount and lowestBid are recomputed from its bids. Tenders are
+ * migrated in batches; run it once after deploying.
+ */
+@Service
+public class TenderBidIdsMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenderBidIdsMigrationService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${migration.bid-ids.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Migrate every tender that still has a bidIds array
+     * @return Number of tenders migrated
+     */
+    public long migrateAll() {
+        long migrated = 0;
+        while (true) {
+            List<Document> batch = mongoTemplate.getCollection("tenders")
+                    .find(Filters.exists("bidIds"))
+                    .projection(Projections.include("bidIds"))
+                    .limit(batchSize)
+                    .into(new ArrayList<>());
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            // Point the listed bids at their tender where the reference is missing
+            List<String> tenderIds = new ArrayList<>();
+            BulkOperations bids = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Bid.class);
+            int bidUpdates = 0;
+            for (Document tender : batch) {
+                String tenderId = tender.get("_id").toString();
+                tenderIds.add(tenderId);
+                List<String> bidIds = tender.getList("bidIds", String.class);
+                if (bidIds != null && !bidIds.isEmpty()) {
+                    bids.updateMulti(new Query(Criteria.where("_id").in(bidIds).and("tenderId").exists(false)),
+                            Update.update("tenderId", tenderId));
+                    bidUpdates++;
+                }
+            }
+            if (bidUpdates > 0) {
+                bids.execute();
+            }
+
+            // Recompute the counters from the bids and drop the array
+            Map<String, Document> totals = new HashMap<>();
+            for (Document total : mongoTemplate.aggregate(newAggregation(
+                            match(Criteria.where("tenderId").in(tenderIds)),
+                            group("tenderId").count().as("bidsCount").min("amount").as("lowestBid")),
+                    "bids", Document.class)) {
+                totals.put(total.getString("_id"), total);
+            }
+            BulkOperations tenders = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Tender.class);
+            for (String tenderId : tenderIds) {
+                Document total = totals.get(tenderId);
+                Update update = new Update().unset("bidIds");
+                if (total != null) {
+                    update.set("bidsCount", total.getInteger("bidsCount"))
+                            .set("lowestBid", ((Number) total.get("lowestBid")).doubleValue());
+                } else {
+                    update.set("bidsCount", 0).unset("lowestBid");
+                }
+                tenders.updateOne(new Query(Criteria.where("_id").is(tenderId)), update);
+            }
+            int modified = tenders.execute().getModifiedCount();
+            migrated += modified;
+
+            // Stop on a short batch, or if no tender could be updated and the same batch would come back
+            if (batch.size() < batchSize || modified == 0) {
+                break;
+            }
+        }
+        if (migrated > 0) {
+            logger.info("Removed the bidIds array from {} tenders", migrated);
+        }
+        return migrated;
+    }
+}
@@ -1,18 +1,28 @@
 package com.example.backend.service;
 
+import com.example.backend.event.AnalyticsDataChangedEvent;
+import com.example.backend.event.TenderUpdateEvent;
 import com.example.backend.model.Bid;
 import com.example.backend.model.Tender;
 import com.example.backend.repository.BidRepository;
 import com.example.backend.repository.TenderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
 
 @Service
 public class TenderService {
@@ -23,6 +33,27 @@ public class TenderService {
     @Autowired
     private BidRepository bidRepository;
 
+    @Autowired
+    private BidRollupService bidRollupService;
+
+    @Autowired
+    private BidAwardService bidAwardService;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private CompanyLeaderboard companyLeaderboard;
+
+    @Autowired
+    private ActivityFeedService activityFeedService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     public List<Tender> getAllTenders() {
         return tenderRepository.findAll();
     }
@@ -40,36 +71,43 @@ public class TenderService {
     }
 
     public List<Tender> getTendersByCompanyBids(String companyId) {
-        // First, find all bids by the company
-        List<Bid> companyBids = bidRepository.findByCompanyId(companyId);
-
-        // Extract bid IDs
-        List<String> bidIds = companyBids.stream()
-                .map(Bid::getId)
-                .collect(Collectors.toList());
+        // Distinct tender IDs of the company's bids, read from the (companyId, tenderId) index
+        List<String> tenderIds = mongoTemplate.findDistinct(query(where("companyId").is(companyId)),
+                "tenderId", Bid.class, String.class);
 
         // If no bids found, return empty list
-        if (bidIds.isEmpty()) {
+        if (tenderIds.isEmpty()) {
             return new ArrayList<>();
         }
 
-        // Find tenders containing any of these bid IDs
-        return tenderRepository.findByBidIdsIn(bidIds);
+        return tenderRepository.findAllById(tenderIds);
     }
 
     public Tender createTender(Tender tender) {
-        tender.setCreatedAt(LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
+        tender.setCreatedAt(Instant.now());
         tender.setStatus("new");
         tender.setBidsCount(0);
-        return tenderRepository.save(tender);
+        Tender savedTender = tenderRepository.save(tender);
+        dashboardCounterService.recordTenderCreated(savedTender);
+        activityFeedService.recordTenderCreated(savedTender);
+        eventPublisher.publishEvent(AnalyticsDataChangedEvent.forCompanies(Collections.emptySet())
+                .forClient(savedTender.getClientId()).in(DataVersions.TENDERS));
+        return savedTender;
     }
 
     public Tender updateTender(String id, Tender tenderDetails) {
         return tenderRepository.findById(id)
                 .map(tender -> {
+                    String previousTenderStatus = tender.getStatus();
+                    double previousBudget = tender.getBudget();
+                    List<Bid> closedBids = Collections.emptyList();
+
                     // Only update fields that are provided in tenderDetails
-                    if (tenderDetails.getTitle() != null) {
+                    if (tenderDetails.getTitle() != null && !tenderDetails.getTitle().equals(tender.getTitle())) {
                         tender.setTitle(tenderDetails.getTitle());
+                        // Keep the title copied onto the bids current
+                        mongoTemplate.updateMulti(query(where("tenderId").is(id)),
+                                Update.update("tenderTitle", tender.getTitle()), Bid.class);
                     }
                     if (tenderDetails.getDescription() != null) {
                         tender.setDescription(tenderDetails.getDescription());
@@ -83,67 +121,124 @@ public class TenderService {
                     if (tenderDetails.getStatus() != null) {
                         tender.setStatus(tenderDetails.getStatus());
 
-                        // If tender is being closed (status changed to 'ended')
+                        // If tender is being closed (status changed to 'ended'), award the lowest bid.
+                        // Claim the transition first, so of concurrent closes only one awards the tender.
                         if ("ended".equals(tenderDetails.getStatus())) {
-                            // Get all bids for this tender
-                            List<String> bidIds = tender.getBidIds();
-                            if (bidIds != null && !bidIds.isEmpty()) {
-                                List<Bid> bids = bidRepository.findAllById(bidIds);
-
-                                // Find the lowest bid
-                                Bid lowestBid = null;
-                                double lowestAmount = Double.MAX_VALUE;
-
-                                for (Bid bid : bids) {
-                                    if (bid.getAmount() < lowestAmount) {
-                                        lowestAmount = bid.getAmount();
-                                        lowestBid = bid;
-                                    }
-                                }
-
-                                // Accept the lowest bid and reject others
-                                for (Bid bid : bids) {
-                                    if (bid == lowestBid) {
-                                        bid.setStatus("accepted");
-                                    } else {
-                                        bid.setStatus("rejected");
-                                    }
-                                    bidRepository.save(bid);
+                            Tender claimed = mongoTemplate.findAndModify(
+                                    query(where("_id").is(id).and("status").ne("ended")),
+                                    Update.update("status", "ended"), Tender.class);
+                            if (claimed != null) {
+                                previousTenderStatus = claimed.getStatus();
+                                try {
+                                    closedBids = bidAwardService.awardLowestBid(tender);
+                                } catch (RuntimeException e) {
+                                    // Release the claim, so the close can be retried
+                                    mongoTemplate.updateFirst(query(where("_id").is(id).and("status").is("ended")),
+                                            Update.update("status", previousTenderStatus), Tender.class);
+                                    throw e;
                                 }
+                            } else {
+                                // Already closed and awarded by someone else
+                                previousTenderStatus = "ended";
                             }
                         }
                     }
-                    return tenderRepository.save(tender);
+                    // Write only the edited and award fields, so bids added meanwhile are kept
+                    Tender savedTender = mongoTemplate.findAndModify(query(where("_id").is(id)), editableFields(tender),
+                            FindAndModifyOptions.options().returnNew(true), Tender.class);
+                    if (savedTender == null) {
+                        return null;
+                    }
+                    dashboardCounterService.recordTenderUpdated(previousTenderStatus, previousBudget, savedTender);
+                    if ("ended".equals(savedTender.getStatus()) && !"ended".equals(previousTenderStatus)) {
+                        activityFeedService.recordTenderClosed(savedTender, closedBids);
+                    }
+                    Set<String> bidderIds = bidderIds(savedTender);
+                    eventPublisher.publishEvent(AnalyticsDataChangedEvent.forCompanies(bidderIds)
+                            .forClient(savedTender.getClientId()).in(DataVersions.TENDERS, DataVersions.BIDS));
+                    eventPublisher.publishEvent(TenderUpdateEvent.tenderUpdated(savedTender, bidderIds));
+                    return savedTender;
                 })
                 .orElseThrow(() -> new RuntimeException("Tender not found with id " + id));
     }
 
-    public Tender addBidToTender(String tenderId, Bid bid) {
-        return tenderRepository.findById(tenderId)
-                .map(tender -> {
-                    // Create and save the bid first
-                    bid.setCreatedAt(LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
-                    bid.setStatus("pending");
-                    bid.setTenderId(tenderId);
-                    Bid savedBid = bidRepository.save(bid);
-
-                    // Add the bid ID to the tender
-                    List<String> bidIds = tender.getBidIds();
-                    bidIds.add(savedBid.getId());
-                    tender.setBidIds(bidIds);
-                    tender.setBidsCount(bidIds.size());
-
-                    // Update lowest bid if applicable
-                    if (tender.getLowestBid() == null || bid.getAmount() < tender.getLowestBid()) {
-                        tender.setLowestBid(bid.getAmount());
-                    }
+    /**
+     * Close a tender and award its lowest bid
+     * @param id The tender ID
+     * @return The closed tender
+     */
+    public Tender closeTender(String id) {
+        Tender details = new Tender();
+        details.setStatus("ended");
+        return updateTender(id, details);
+    }
 
-                    return tenderRepository.save(tender);
-                })
+    public Tender addBidToTender(String tenderId, Bid bid) {
+        Tender tender = tenderRepository.findById(tenderId)
                 .orElseThrow(() -> new RuntimeException("Tender not found with id " + tenderId));
+
+        // Create and save the bid first
+        bid.setCreatedAt(Instant.now());
+        bid.setStatus("pending");
+        bid.setTenderId(tenderId);
+        bid.setTenderTitle(tender.getTitle());
+        bid.setTenderCreatedAt(tender.getCreatedAt());
+        Bid savedBid = bidRepository.save(bid);
+        bidRollupService.recordBidCreated(savedBid, tender);
+        dashboardCounterService.recordBidCreated(savedBid);
+        companyLeaderboard.recordBidCreated(savedBid);
+
+        // Count the bid on the tender in one atomic update, so concurrent bids never overwrite each other.
+        // This stays on the request path: the response and the stream carry the counts as written.
+        Update update = new Update()
+                .inc("bidsCount", 1)
+                .min("lowestBid", savedBid.getAmount());
+        Tender savedTender = mongoTemplate.findAndModify(query(where("_id").is(tenderId)), update,
+                FindAndModifyOptions.options().returnNew(true), Tender.class);
+        if (savedTender == null) {
+            throw new RuntimeException("Tender not found with id " + tenderId);
+        }
+
+        activityFeedService.recordBidSubmitted(savedBid, savedTender);
+        eventPublisher.publishEvent(AnalyticsDataChangedEvent.forCompany(savedBid.getCompanyId())
+                .forClient(savedTender.getClientId()).in(DataVersions.TENDERS, DataVersions.BIDS));
+        eventPublisher.publishEvent(TenderUpdateEvent.bidAdded(savedTender, savedBid));
+        return savedTender;
     }
 
     public void deleteTender(String id) {
-        tenderRepository.deleteById(id);
+        tenderRepository.findById(id).ifPresent(tender -> {
+            tenderRepository.delete(tender);
+            dashboardCounterService.recordTenderDeleted(tender);
+            eventPublisher.publishEvent(AnalyticsDataChangedEvent.forCompanies(bidderIds(tender))
+                    .forClient(tender.getClientId()).in(DataVersions.TENDERS));
+        });
+    }
+
+    // The fields updateTender changes; bidsCount and lowestBid belong to addBidToTender
+    private Update editableFields(Tender tender) {
+        Update update = new Update()
+                .set("title", tender.getTitle())
+                .set("budget", tender.getBudget())
+                .set("status", tender.getStatus());
+        if (tender.getDescription() != null) {
+            update.set("description", tender.getDescription());
+        }
+        if (tender.getDeadline() != null) {
+            update.set("deadline", tender.getDeadline());
+        }
+        if (tender.getWinningBidId() != null) {
+            update.set("winningBidId", tender.getWinningBidId())
+                    .set("winningCompanyId", tender.getWinningCompanyId())
+                    .set("winningCompanyType", tender.getWinningCompanyType())
+                    .set("awardedAmount", tender.getAwardedAmount())
+                    .set("awardedDeadline", tender.getAwardedDeadline());
+        }
+        return update;
+    }
+
+    private Set<String> bidderIds(Tender tender) {
+        return new HashSet<>(mongoTemplate.findDistinct(query(where("tenderId").is(tender.getId())),
+                "companyId", Bid.class, String.class));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,210 @@
+package com.example.backend.service;
+
+import com.example.backend.event.TenderUpdateEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes tender update events to server-sent event subscribers. Subscribers are
+ * async requests, so idle connections hold no threads. Each event is serialized
+ * once and queued on the bounded buffer of every matching subscriber; a small
+ * sender pool drains the buffers, one subscriber at a time. When a slow consumer's
+ * buffer is full its oldest queued event is dropped.
+ */
+@Service
+public class TenderStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenderStreamService.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong lastEventId = new AtomicLong();
+    private final ExecutorService sender;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final int maxSubscribers;
+
+    public TenderStreamService(@Value("${stream.sender-threads:2}") int senderThreads,
+                               @Value("${stream.buffer-size:64}") int bufferSize,
+                               @Value("${stream.timeout-ms:1800000}") long timeoutMs,
+                               @Value("${stream.max-subscribers:10000}") int maxSubscribers) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "tender-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    /**
+     * Subscribe to tender updates. All given filters must match; without filters
+     * every update is received.
+     * @param clientId Only updates of tenders of this client, may be null
+     * @param companyId Only updates involving bids of this company, may be null
+     * @param tenderId Only updates of this tender, may be null
+     * @return The emitter of the subscription
+     * @throws IllegalStateException If the maximum number of subscribers is reached
+     */
+    public SseEmitter subscribe(String clientId, String companyId, String tenderId) {
+        if (subscriptions.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many stream subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscription subscription = new Subscription(emitter, clientId, companyId, tenderId);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @EventListener
+    public void onTenderUpdate(TenderUpdateEvent event) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+
+        // Serialize the delta once for all subscribers
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("tenderId", event.getTenderId());
+        delta.put("bidsCount", event.getBidsCount());
+        delta.put("lowestBid", event.getLowestBid());
+        delta.put("status", event.getStatus());
+        if (event.getBidId() != null) {
+            delta.put("bidId", event.getBidId());
+            delta.put("bidStatus", event.getBidStatus());
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(delta);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize the tender update of {}: {}", event.getTenderId(), e.getMessage());
+            return;
+        }
+        Set<DataWithMediaType> message = SseEmitter.event()
+                .id(String.valueOf(lastEventId.incrementAndGet()))
+                .name(event.getType())
+                .data(json, MediaType.APPLICATION_JSON)
+                .build();
+
+        for (Subscription subscription : subscriptions) {
+            if (subscription.matches(event)) {
+                subscription.enqueue(message);
+            }
+        }
+    }
+
+    /**
+     * Send a comment to every subscriber, so proxies keep idle connections open
+     * and closed connections are detected
+     */
+    @Scheduled(fixedDelayString = "${stream.heartbeat-interval-ms:30000}",
+            initialDelayString = "${stream.heartbeat-interval-ms:30000}")
+    public void sendHeartbeats() {
+        for (Subscription subscription : subscriptions) {
+            subscription.enqueue(SseEmitter.event().comment("heartbeat").build());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        for (Subscription subscription : subscriptions) {
+            subscription.emitter.complete();
+        }
+    }
+
+    /**
+     * One connected subscriber, its filters and its buffer of unsent events
+     */
+    private final class Subscription {
+        private final SseEmitter emitter;
+        private final String clientId;
+        private final String companyId;
+        private final String tenderId;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscription(SseEmitter emitter, String clientId, String companyId, String tenderId) {
+            this.emitter = emitter;
+            this.clientId = clientId;
+            this.companyId = companyId;
+            this.tenderId = tenderId;
+        }
+
+        boolean matches(TenderUpdateEvent event) {
+            return (clientId == null || clientId.equals(event.getClientId()))
+                    && (companyId == null || event.getCompanyIds().contains(companyId))
+                    && (tenderId == null || tenderId.equals(event.getTenderId()));
+        }
+
+        void enqueue(Set<DataWithMediaType> message) {
+            // Drop the oldest event until the new one fits
+            while (!buffer.offer(message)) {
+                buffer.poll();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                // Send at most one buffer's worth before yielding the thread to other subscribers
+                Set<DataWithMediaType> message;
+                for (int sent = 0; sent < bufferSize && (message = buffer.poll()) != null; sent++) {
+                    emitter.send(message);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter was completed
+                subscriptions.remove(this);
+                buffer.clear();
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
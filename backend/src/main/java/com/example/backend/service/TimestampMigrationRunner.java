@@ -0,0 +1,40 @@
+package com.example.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts string timestamps to native dates in the background when the
+ * application is started with {@code --migrate-timestamps}. Unconverted
+ * documents stay readable in the meantime through the legacy reading converter.
+ */
+@Component
+public class TimestampMigrationRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimestampMigrationRunner.class);
+
+    @Autowired
+    private TimestampMigrationService timestampMigrationService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption("migrate-timestamps")) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                long start = System.currentTimeMillis();
+                long migrated = timestampMigrationService.migrateAll();
+                logger.info("Converted {} timestamp fields in {} ms", migrated, System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                logger.error("Timestamp migration failed", e);
+            }
+        }, "timestamp-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.backend.service;
+
+import com.example.backend.util.Timestamps;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Converts timestamps that are still stored as ISO strings into native BSON dates.
+ * Documents are converted in batches with conditional updates, so the migration
+ * can run while the application is serving requests.
+ */
+@Service
+public class TimestampMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimestampMigrationService.class);
+
+    // Timestamp fields to convert per collection
+    private static final Map<String, List<String>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("bids", Arrays.asList("createdAt", "proposedDeadline"));
+        FIELDS.put("tenders", Arrays.asList("createdAt", "deadline"));
+        FIELDS.put("companies", Arrays.asList("createdAt", "updatedAt"));
+        FIELDS.put("user_settings", Arrays.asList("createdAt", "updatedAt"));
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${migration.timestamps.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Convert all string timestamps in every migrated collection
+     * @return Number of documents updated
+     */
+    public long migrateAll() {
+        long migrated = 0;
+        for (Map.Entry<String, List<String>> entry : FIELDS.entrySet()) {
+            for (String field : entry.getValue()) {
+                migrated += migrate(entry.getKey(), field);
+            }
+        }
+        return migrated;
+    }
+
+    /**
+     * Convert the string values of one field to dates, one batch at a time
+     * @param collection The collection name
+     * @param field The timestamp field
+     * @return Number of documents updated
+     */
+    public long migrate(String collection, String field) {
+        long migrated = 0;
+        while (true) {
+            List<Document> batch = mongoTemplate.getCollection(collection)
+                    .find(Filters.type(field, BsonType.STRING))
+                    .projection(Projections.include(field))
+                    .limit(batchSize)
+                    .into(new ArrayList<>());
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+            for (Document document : batch) {
+                String value = document.getString(field);
+                // Only update if the value was not changed since it was read
+                Query query = new Query(Criteria.where("_id").is(document.get("_id")).and(field).is(value));
+                bulk.updateOne(query, convert(collection, document.get("_id"), field, value));
+            }
+            migrated += bulk.execute().getModifiedCount();
+
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        if (migrated > 0) {
+            logger.info("Converted {} {}.{} timestamps to dates", migrated, collection, field);
+        }
+        return migrated;
+    }
+
+    private Update convert(String collection, Object id, String field, String value) {
+        try {
+            Instant instant = Timestamps.parse(value);
+            return instant != null ? new Update().set(field, instant) : new Update().unset(field);
+        } catch (DateTimeParseException e) {
+            // Keep unparseable values for inspection and clear the typed field
+            logger.warn("Unparseable {}.{} value '{}' on {}, moved to {}Legacy", collection, field, value, id, field);
+            return new Update().set(field + "Legacy", value).unset(field);
+        }
+    }
+}
@@ -5,8 +5,7 @@ import com.example.backend.repository.UserSettingsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -53,7 +52,7 @@ public class UserSettingsService {
         userSettings.setThemeSettings(defaultThemeSettings);
 
         // Set timestamps
-        String now = LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME);
+        Instant now = Instant.now();
         userSettings.setCreatedAt(now);
         userSettings.setUpdatedAt(now);
 
@@ -68,28 +67,28 @@ public class UserSettingsService {
     public UserSettings updateNotificationSettings(String userId, Map<String, Boolean> notificationSettings) {
         UserSettings userSettings = getOrCreateUserSettings(userId);
         userSettings.setNotificationSettings(notificationSettings);
-        userSettings.setUpdatedAt(LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
+        userSettings.setUpdatedAt(Instant.now());
         return userSettingsRepository.save(userSettings);
     }
 
     public UserSettings updatePrivacySettings(String userId, Map<String, Object> privacySettings) {
         UserSettings userSettings = getOrCreateUserSettings(userId);
         userSettings.setPrivacySettings(privacySettings);
-        userSettings.setUpdatedAt(LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
+        userSettings.setUpdatedAt(Instant.now());
         return userSettingsRepository.save(userSettings);
     }
 
     public UserSettings updateRegionSettings(String userId, Map<String, String> regionSettings) {
         UserSettings userSettings = getOrCreateUserSettings(userId);
         userSettings.setRegionSettings(regionSettings);
-        userSettings.setUpdatedAt(LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
+        userSettings.setUpdatedAt(Instant.now());
         return userSettingsRepository.save(userSettings);
     }
 
     public UserSettings updateThemeSettings(String userId, Map<String, String> themeSettings) {
         UserSettings userSettings = getOrCreateUserSettings(userId);
         userSettings.setThemeSettings(themeSettings);
-        userSettings.setUpdatedAt(LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
+        userSettings.setUpdatedAt(Instant.now());
         return userSettingsRepository.save(userSettings);
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.example.backend.service;
+
+import com.example.backend.model.UserSettings;
+import com.example.backend.repository.UserSettingsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.Map;
+
+/**
+ * Resolves the time zone analytics are bucketed in from the user's region
+ * settings, falling back to the server time zone.
+ */
+@Service
+public class UserTimeZoneService {
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @Autowired
+    private UserSettingsRepository userSettingsRepository;
+
+    /**
+     * Get the time zone of the authenticated user
+     * @return The user's time zone, or the server time zone for anonymous requests
+     */
+    public ZoneId currentZone() {
+        return currentUserService.currentUser()
+                .map(user -> zoneOf(user.getId()))
+                .orElse(ZoneId.systemDefault());
+    }
+
+    /**
+     * Get the time zone configured in a user's region settings
+     * @param userId The user ID
+     * @return The configured time zone, or the server time zone if none or an invalid one is set
+     */
+    public ZoneId zoneOf(String userId) {
+        String timezone = userSettingsRepository.findByUserId(userId)
+                .map(UserSettings::getRegionSettings)
+                .map(regionSettings -> regionSettings.get("timezone"))
+                .orElse(null);
+        if (timezone == null || timezone.isBlank()) {
+            return ZoneId.systemDefault();
+        }
+        try {
+            return ZoneId.of(timezone);
+        } catch (DateTimeException e) {
+            return ZoneId.systemDefault();
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package com.example.backend.service;
+
+import com.example.backend.event.AnalyticsDataChangedEvent;
+import com.example.backend.model.Company;
+import com.example.backend.model.CompanyBidRollup;
+import com.mongodb.MongoOperationTimeoutException;
+import com.mongodb.MongoServerUnavailableException;
+import com.mongodb.MongoSocketOpenException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Applies follow-up writes that callers do not need to wait for, such as derived
+ * counters. Updates are held per document and merged with later updates of the
+ * same document, so a burst of bids becomes a single write per counter document. A
+ * writer thread flushes them as one bulk write per collection when enough
+ * documents are pending or the flush interval passed. When the pending set is
+ * full, the caller flushes. Pending updates are flushed on shutdown. After every
+ * flush the data versions are bumped, so no response cached before it is reused.
+ */
+@Service
+public class WriteBehindService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Map<Key, PendingUpdate> pending = new LinkedHashMap<>(); // Guarded by pending
+    private final Set<Key> paused = new HashSet<>(); // Guarded by pending
+    private final Object flushLock = new Object();
+    private final int batchSize;
+    private final int maxPending;
+    private final long intervalMs;
+    private final long shutdownTimeoutMs;
+    private final Timer flushTimer;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public WriteBehindService(MeterRegistry meterRegistry,
+                              @Value("${write-behind.batch-size:500}") int batchSize,
+                              @Value("${write-behind.max-pending:10000}") int maxPending,
+                              @Value("${write-behind.interval-ms:1000}") long intervalMs,
+                              @Value("${write-behind.shutdown-timeout-ms:5000}") long shutdownTimeoutMs) {
+        this.batchSize = batchSize;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.maxPending = maxPending;
+        this.intervalMs = intervalMs;
+        this.flushTimer = Timer.builder("write-behind.flush")
+                .description("Time to write the pending updates")
+                .register(meterRegistry);
+        Gauge.builder("write-behind.queue.depth", this, WriteBehindService::getPendingCount)
+                .description("Documents with pending updates")
+                .register(meterRegistry);
+        this.writer = new Thread(this::writeLoop, "write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queue an update of one document, merged with the document's pending update of the same kind
+     * @param type The document class
+     * @param id The document ID
+     * @param update The update
+     */
+    public void submit(Class<?> type, Object id, PendingUpdate update) {
+        Key key = new Key(type, id, update.getClass());
+        boolean full;
+        synchronized (pending) {
+            if (paused.contains(documentKey(type, id))) {
+                return;
+            }
+            pending.merge(key, update, PendingUpdate::merge);
+            if (pending.size() >= batchSize) {
+                pending.notifyAll();
+            }
+            full = pending.size() >= maxPending;
+        }
+        if (full) {
+            // The writer fell behind, write on the caller's thread
+            flush();
+        }
+    }
+
+    /**
+     * Drop the pending and later updates of one document until it is resumed, for
+     * while the document is recomputed from its source. Waits for a write in
+     * progress, so no update queued before the pause lands after it.
+     * @param type The document class
+     * @param id The document ID
+     */
+    public void pause(Class<?> type, Object id) {
+        synchronized (flushLock) {
+            synchronized (pending) {
+                paused.add(documentKey(type, id));
+                pending.keySet().removeIf(key -> key.type.equals(type) && key.id.equals(id));
+            }
+        }
+    }
+
+    /**
+     * Queue the updates of a paused document again
+     * @param type The document class
+     * @param id The document ID
+     */
+    public void resume(Class<?> type, Object id) {
+        synchronized (pending) {
+            paused.remove(documentKey(type, id));
+        }
+    }
+
+    public int getPendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Write all pending updates now
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Key, PendingUpdate> batch;
+            synchronized (pending) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new LinkedHashMap<>(pending);
+                pending.clear();
+            }
+            long start = System.nanoTime();
+            try {
+                write(batch);
+            } finally {
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                // Readers may have cached the values from before the flush under the current data versions
+                eventPublisher.publishEvent(AnalyticsDataChangedEvent.forCompanies(companyIds(batch))
+                        .in(collections(batch)));
+            }
+        }
+    }
+
+    /**
+     * Stop the writer, which writes the pending updates before it ends. Shutdown
+     * waits for it at most write-behind.shutdown-timeout-ms, so an unreachable
+     * database cannot hold up the exit.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        synchronized (pending) {
+            pending.notifyAll();
+        }
+        try {
+            writer.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.warn("Gave up writing {} pending updates on shutdown", getPendingCount());
+        }
+    }
+
+    private void writeLoop() {
+        while (running) {
+            try {
+                // Wait for a full batch or the end of the interval
+                synchronized (pending) {
+                    long deadline = System.currentTimeMillis() + intervalMs;
+                    long remaining;
+                    while (running && pending.size() < batchSize
+                            && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                        pending.wait(remaining);
+                    }
+                }
+                flush();
+            } catch (InterruptedException e) {
+                break;
+            } catch (RuntimeException e) {
+                logger.warn("Write-behind flush failed: {}", e.getMessage());
+            }
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Could not write the pending updates on shutdown: {}", e.getMessage());
+        }
+    }
+
+    // Pauses apply to all kinds of update of a document
+    private static Key documentKey(Class<?> type, Object id) {
+        return new Key(type, id, PendingUpdate.class);
+    }
+
+    private String[] collections(Map<Key, PendingUpdate> batch) {
+        return batch.keySet().stream()
+                .map(key -> mongoTemplate.getCollectionName(key.type))
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    // Company and rollup documents are keyed by their company's ID
+    private static Set<String> companyIds(Map<Key, PendingUpdate> batch) {
+        Set<String> companyIds = new HashSet<>();
+        for (Key key : batch.keySet()) {
+            if (key.type == Company.class || key.type == CompanyBidRollup.class) {
+                companyIds.add(key.id.toString());
+            }
+        }
+        return companyIds;
+    }
+
+    private void write(Map<Key, PendingUpdate> batch) {
+        Map<Class<?>, List<Map.Entry<Key, PendingUpdate>>> byType = new LinkedHashMap<>();
+        for (Map.Entry<Key, PendingUpdate> entry : batch.entrySet()) {
+            byType.computeIfAbsent(entry.getKey().type, k -> new ArrayList<>()).add(entry);
+        }
+
+        for (Map.Entry<Class<?>, List<Map.Entry<Key, PendingUpdate>>> group : byType.entrySet()) {
+            List<Map.Entry<Key, PendingUpdate>> entries = group.getValue();
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, group.getKey());
+            for (Map.Entry<Key, PendingUpdate> entry : entries) {
+                PendingUpdate update = entry.getValue();
+                Criteria criteria = where("_id").is(entry.getKey().id);
+                if (update.condition() != null) {
+                    criteria = new Criteria().andOperator(criteria, update.condition());
+                }
+                if (update.isUpsert()) {
+                    bulk.upsert(query(criteria), update.toUpdate());
+                } else {
+                    bulk.updateOne(query(criteria), update.toUpdate());
+                }
+            }
+            try {
+                bulk.execute();
+            } catch (BulkOperationException e) {
+                // The other updates were applied; the rejected ones would fail again
+                for (BulkWriteError error : e.getErrors()) {
+                    Key key = entries.get(error.getIndex()).getKey();
+                    logger.warn("Dropped write-behind update of {} {}: {}", key.type.getSimpleName(), key.id, error.getMessage());
+                }
+            } catch (DataAccessException e) {
+                // The server may have applied some or all of the batch before the error; only
+                // updates that can be applied twice are retried, unless it was never reached
+                boolean notSent = isBeforeWrite(e);
+                List<Map.Entry<Key, PendingUpdate>> retry = new ArrayList<>();
+                for (Map.Entry<Key, PendingUpdate> entry : entries) {
+                    if (notSent || entry.getValue().isIdempotent()) {
+                        retry.add(entry);
+                    }
+                }
+                logger.warn("Could not write {} pending {} updates, retrying {}: {}", entries.size(),
+                        group.getKey().getSimpleName(), retry.size(), e.getMessage());
+                requeue(retry);
+            }
+        }
+    }
+
+    // No server could be selected or connected to, so nothing was sent
+    private static boolean isBeforeWrite(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoSocketOpenException || cause instanceof MongoServerUnavailableException
+                    || (cause instanceof MongoTimeoutException && !(cause instanceof MongoOperationTimeoutException))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void requeue(List<Map.Entry<Key, PendingUpdate>> entries) {
+        synchronized (pending) {
+            for (Map.Entry<Key, PendingUpdate> entry : entries) {
+                // Updates queued meanwhile come after the failed ones
+                PendingUpdate later = pending.get(entry.getKey());
+                pending.put(entry.getKey(), later != null ? entry.getValue().merge(later) : entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * An update waiting to be written, which can absorb a later update of the same document
+     */
+    public interface PendingUpdate {
+
+        /**
+         * Combine with an update queued after this one
+         * @param later The later update, of the same class
+         * @return The update with the effect of both
+         */
+        PendingUpdate merge(PendingUpdate later);
+
+        UpdateDefinition toUpdate();
+
+        /**
+         * An extra condition the document must meet to be updated, checked when the update is written
+         * @return The condition, or null to update the document unconditionally
+         */
+        default Criteria condition() {
+            return null;
+        }
+
+        default boolean isUpsert() {
+            return false;
+        }
+
+        /**
+         * Whether writing the update twice has the same effect as writing it once. Other updates
+         * are not retried after a failure that may have come after the write; their derived data
+         * is corrected by its reconciliation or rebuild.
+         */
+        default boolean isIdempotent() {
+            return false;
+        }
+    }
+
+    /**
+     * Increments, minimums and maximums, which add up and can be applied in any order
+     */
+    public static final class Counters implements PendingUpdate {
+        private final boolean upsert;
+        private final Map<String, Number> inc = new LinkedHashMap<>();
+        private final Map<String, Object> min = new LinkedHashMap<>();
+        private final Map<String, Object> max = new LinkedHashMap<>();
+
+        public Counters(boolean upsert) {
+            this.upsert = upsert;
+        }
+
+        /**
+         * Take the $inc, $min and $max fields of an update
+         * @param update The update
+         * @param upsert Whether to create the document if it does not exist
+         * @return The counters
+         * @throws IllegalArgumentException If the update has other operators
+         */
+        public static Counters of(Update update, boolean upsert) {
+            Counters counters = new Counters(upsert);
+            for (Map.Entry<String, Object> operation : update.getUpdateObject().entrySet()) {
+                Document fields = (Document) operation.getValue();
+                for (Map.Entry<String, Object> field : fields.entrySet()) {
+                    switch (operation.getKey()) {
+                        case "$inc" -> counters.inc(field.getKey(), (Number) field.getValue());
+                        case "$min" -> counters.min(field.getKey(), field.getValue());
+                        case "$max" -> counters.max(field.getKey(), field.getValue());
+                        default -> throw new IllegalArgumentException(operation.getKey() + " cannot be merged");
+                    }
+                }
+            }
+            return counters;
+        }
+
+        public Counters inc(String key, Number delta) {
+            inc.merge(key, delta, Counters::add);
+            return this;
+        }
+
+        public Counters min(String key, Object value) {
+            min.merge(key, value, (a, b) -> compare(a, b) <= 0 ? a : b);
+            return this;
+        }
+
+        public Counters max(String key, Object value) {
+            max.merge(key, value, (a, b) -> compare(a, b) >= 0 ? a : b);
+            return this;
+        }
+
+        @Override
+        public PendingUpdate merge(PendingUpdate later) {
+            Counters other = (Counters) later;
+            other.inc.forEach(this::inc);
+            other.min.forEach(this::min);
+            other.max.forEach(this::max);
+            return this;
+        }
+
+        @Override
+        public UpdateDefinition toUpdate() {
+            Update update = new Update();
+            inc.forEach(update::inc);
+            min.forEach(update::min);
+            max.forEach(update::max);
+            return update;
+        }
+
+        @Override
+        public boolean isUpsert() {
+            return upsert;
+        }
+
+        private static Number add(Number a, Number b) {
+            boolean integral = (a instanceof Integer || a instanceof Long) && (b instanceof Integer || b instanceof Long);
+            return integral ? (Number) (a.longValue() + b.longValue()) : (Number) (a.doubleValue() + b.doubleValue());
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compare(Object a, Object b) {
+            if (a instanceof Number && b instanceof Number) {
+                return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+            }
+            return ((Comparable) a).compareTo(b);
+        }
+    }
+
+    private static final class Key {
+        private final Class<?> type;
+        private final Object id;
+        private final Class<?> kind;
+
+        Key(Class<?> type, Object id, Class<?> kind) {
+            this.type = type;
+            this.id = id;
+            this.kind = kind;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return type.equals(key.type) && id.equals(key.id) && kind.equals(key.kind);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, id, kind);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position in a newest-first activity list, the (createdAt, id) of the last item
+ * a client has seen. The next page continues with the items ordered after it, so
+ * no documents are skipped over and items inserted meanwhile do not shift the page.
+ * Sent to clients as an opaque URL-safe token.
+ */
+public final class ActivityCursor {
+
+    private final Instant createdAt;
+    private final String id;
+
+    private ActivityCursor(Instant createdAt, String id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    /**
+     * Cursor positioned at an item
+     * @param createdAt The creation time of the item
+     * @param id The ID of the item
+     * @return The cursor
+     */
+    public static ActivityCursor of(Instant createdAt, String id) {
+        if (createdAt == null || id == null) {
+            throw new IllegalArgumentException("A cursor needs both a creation time and an ID");
+        }
+        return new ActivityCursor(createdAt, id);
+    }
+
+    /**
+     * Decode a token created by {@link #encode()}
+     * @param token The token
+     * @return The cursor
+     * @throws IllegalArgumentException If the token is not a valid cursor
+     */
+    public static ActivityCursor decode(String token) {
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        int separator = value.indexOf(':');
+        if (separator <= 0 || separator == value.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        try {
+            return new ActivityCursor(Instant.ofEpochMilli(Long.parseLong(value.substring(0, separator))),
+                    value.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    /**
+     * Encode the cursor as an opaque token
+     * @return The token
+     */
+    public String encode() {
+        String value = createdAt.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
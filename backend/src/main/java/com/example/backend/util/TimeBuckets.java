@@ -0,0 +1,259 @@
+package com.example.backend.util;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Consecutive, non-overlapping time buckets in a time zone. Each bucket covers
+ * [start, end) and has a year-qualified key ("2025-03", "2025-W09", "2025-Q1")
+ * and a short display label ("Mar", "W9", "Q1"). Records are assigned to buckets
+ * with a binary search, so grouping a series takes a single pass.
+ */
+public final class TimeBuckets {
+
+    public enum Granularity {
+        DAY, WEEK, MONTH, QUARTER, YEAR;
+
+        public static Granularity fromName(String name) {
+            for (Granularity granularity : values()) {
+                if (granularity.name().equalsIgnoreCase(name.trim())) {
+                    return granularity;
+                }
+            }
+            throw new IllegalArgumentException("Unknown granularity: " + name);
+        }
+    }
+
+    private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("MMM d");
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("MMM");
+
+    private final Granularity granularity; // Null for custom boundaries
+    private final ZonedDateTime[] boundaries; // Bucket i is [boundaries[i], boundaries[i + 1])
+    private final long[] boundaryMillis;
+
+    private TimeBuckets(Granularity granularity, ZonedDateTime[] boundaries) {
+        this.granularity = granularity;
+        this.boundaries = boundaries;
+        this.boundaryMillis = Arrays.stream(boundaries).mapToLong(boundary -> boundary.toInstant().toEpochMilli()).toArray();
+    }
+
+    /**
+     * Calendar-aligned buckets ending with the one that contains the given time
+     * @param count Number of buckets
+     * @param granularity Bucket size
+     * @param now The current time, in the time zone to align the buckets in
+     * @return The buckets, oldest first
+     */
+    public static TimeBuckets last(int count, Granularity granularity, ZonedDateTime now) {
+        if (count < 1) {
+            throw new IllegalArgumentException("At least one bucket is required");
+        }
+        ZoneId zone = now.getZone();
+        LocalDate current = align(now.toLocalDate(), granularity);
+        LocalDate first = step(current, granularity, -(count - 1));
+
+        ZonedDateTime[] boundaries = new ZonedDateTime[count + 1];
+        for (int i = 0; i <= count; i++) {
+            boundaries[i] = step(first, granularity, i).atStartOfDay(zone);
+        }
+        return new TimeBuckets(granularity, boundaries);
+    }
+
+    /**
+     * Buckets between arbitrary ascending boundaries, e.g. rolling comparison periods
+     * @param boundaries At least two ascending boundaries
+     * @return The buckets, keyed by their start time
+     */
+    public static TimeBuckets between(ZonedDateTime... boundaries) {
+        if (boundaries.length < 2) {
+            throw new IllegalArgumentException("At least two boundaries are required");
+        }
+        return new TimeBuckets(null, boundaries.clone());
+    }
+
+    /**
+     * Get the bucket size, null for custom boundaries
+     */
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    public int size() {
+        return boundaries.length - 1;
+    }
+
+    public ZoneId getZone() {
+        return boundaries[0].getZone();
+    }
+
+    /**
+     * Start of the first bucket (inclusive)
+     */
+    public Instant getFrom() {
+        return boundaries[0].toInstant();
+    }
+
+    /**
+     * End of the last bucket (exclusive)
+     */
+    public Instant getTo() {
+        return boundaries[boundaries.length - 1].toInstant();
+    }
+
+    public Instant start(int index) {
+        return boundaries[index].toInstant();
+    }
+
+    /**
+     * Get the boundaries as epoch millis, bucket i is [millis[i], millis[i + 1])
+     * @return A copy of the boundaries
+     */
+    public long[] boundaryMillis() {
+        return boundaryMillis.clone();
+    }
+
+    /**
+     * Find the bucket containing an instant
+     * @param instant The instant, may be null
+     * @return The bucket index, or -1 if the instant is outside all buckets
+     */
+    public int indexOf(Instant instant) {
+        return instant != null ? indexOf(instant.toEpochMilli()) : -1;
+    }
+
+    /**
+     * Find the bucket containing a time in epoch millis
+     * @param epochMillis The time
+     * @return The bucket index, or -1 if the time is outside all buckets
+     */
+    public int indexOf(long epochMillis) {
+        int index = Arrays.binarySearch(boundaryMillis, epochMillis);
+        if (index < 0) {
+            index = -index - 2; // Boundary before the insertion point
+        }
+        return index >= 0 && index < size() ? index : -1;
+    }
+
+    /**
+     * Count records per bucket in one pass
+     * @param records The records
+     * @param time Extracts the record time
+     * @return Count per bucket
+     */
+    public <T> long[] count(Iterable<T> records, Function<T, Instant> time) {
+        long[] counts = new long[size()];
+        for (T record : records) {
+            int index = indexOf(time.apply(record));
+            if (index >= 0) {
+                counts[index]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Group records per bucket in one pass
+     * @param records The records
+     * @param time Extracts the record time
+     * @return Records per bucket, records outside all buckets are dropped
+     */
+    public <T> List<List<T>> group(Iterable<T> records, Function<T, Instant> time) {
+        List<List<T>> groups = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (T record : records) {
+            int index = indexOf(time.apply(record));
+            if (index >= 0) {
+                groups.get(index).add(record);
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Get the year-qualified key of a bucket
+     * @param index The bucket index
+     * @return The key, e.g. "2025-03-01", "2025-W09", "2025-03", "2025-Q1" or "2025"
+     */
+    public String key(int index) {
+        if (granularity == null) {
+            return boundaries[index].toOffsetDateTime().toString();
+        }
+        LocalDate date = boundaries[index].toLocalDate();
+        return switch (granularity) {
+            case DAY -> date.toString();
+            case WEEK -> String.format(Locale.ROOT, "%d-W%02d",
+                    date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTH -> String.format(Locale.ROOT, "%d-%02d", date.getYear(), date.getMonthValue());
+            case QUARTER -> date.getYear() + "-Q" + date.get(IsoFields.QUARTER_OF_YEAR);
+            case YEAR -> String.valueOf(date.getYear());
+        };
+    }
+
+    /**
+     * Get the short display label of a bucket, not unique across years
+     * @param index The bucket index
+     * @return The label, e.g. "Mar 1", "W9", "Mar", "Q1" or "2025"
+     */
+    public String label(int index) {
+        ZonedDateTime start = boundaries[index];
+        if (granularity == null) {
+            return start.toLocalDate().toString();
+        }
+        return switch (granularity) {
+            case DAY -> start.format(DAY_LABEL);
+            case WEEK -> "W" + start.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+            case MONTH -> start.format(MONTH_LABEL);
+            case QUARTER -> "Q" + start.get(IsoFields.QUARTER_OF_YEAR);
+            case YEAR -> String.valueOf(start.getYear());
+        };
+    }
+
+    public List<String> keys() {
+        List<String> keys = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            keys.add(key(i));
+        }
+        return keys;
+    }
+
+    public List<String> labels() {
+        List<String> labels = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            labels.add(label(i));
+        }
+        return labels;
+    }
+
+    private static LocalDate align(LocalDate date, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case QUARTER -> date.withMonth((date.getMonthValue() - 1) / 3 * 3 + 1).withDayOfMonth(1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    private static LocalDate step(LocalDate date, Granularity granularity, long amount) {
+        return switch (granularity) {
+            case DAY -> date.plusDays(amount);
+            case WEEK -> date.plusWeeks(amount);
+            case MONTH -> date.plusMonths(amount);
+            case QUARTER -> date.plusMonths(3 * amount);
+            case YEAR -> date.plusYears(amount);
+        };
+    }
+}
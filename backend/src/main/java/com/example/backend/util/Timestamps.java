@@ -0,0 +1,45 @@
+package com.example.backend.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parsing of the ISO-8601 string timestamps that were stored and sent before
+ * dates became native BSON dates.
+ */
+public final class Timestamps {
+
+    private Timestamps() {
+    }
+
+    /**
+     * Parse a timestamp string into an instant. Accepts ISO instants and offset
+     * date-times ("2025-03-01T10:00:00Z"), local date-times with a 'T' or a space
+     * separator and plain dates; values without an offset are interpreted in the
+     * server time zone, which is how they were originally written.
+     * @param value The timestamp string
+     * @return The parsed instant, or null for a null or blank value
+     * @throws DateTimeParseException If the value is not a recognised timestamp
+     */
+    public static Instant parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String text = value.trim();
+        if (text.length() == 10) {
+            return LocalDate.parse(text).atStartOfDay(ZoneId.systemDefault()).toInstant();
+        }
+        if (text.length() > 10 && text.charAt(10) == ' ') {
+            text = text.substring(0, 10) + 'T' + text.substring(11);
+        }
+        try {
+            return OffsetDateTime.parse(text).toInstant();
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.parse(text).atZone(ZoneId.systemDefault()).toInstant();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Bid;
+import com.example.backend.model.Tender;
+import com.example.backend.repository.BidRepository;
+import com.example.backend.repository.TenderRepository;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Background index creation and scheduled jobs would race the test's writes on the in-memory server
+@SpringBootTest(properties = {"mongo.indexes.create-on-startup=false", "scheduling.enabled=false"})
+class TenderServiceConcurrencyTests {
+
+	private static final int BIDS = 2000;
+	private static final int THREADS = 16;
+
+	@Autowired
+	private TenderService tenderService;
+
+	@Autowired
+	private TenderRepository tenderRepository;
+
+	@Autowired
+	private BidRepository bidRepository;
+
+	// The context owns the in-memory server; the client depends on it, so the server
+	// stops only after the beans using the client have written their pending updates
+	@TestConfiguration
+	static class InMemoryMongo {
+
+		@Bean(destroyMethod = "shutdownNow")
+		MongoServer mongoServer() {
+			MongoServer mongoServer = new MongoServer(new MemoryBackend());
+			mongoServer.bind();
+			return mongoServer;
+		}
+
+		@Bean(destroyMethod = "close")
+		MongoClient mongoClient(MongoServer mongoServer) {
+			InetSocketAddress address = mongoServer.getLocalAddress();
+			return MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+		}
+	}
+
+	@Test
+	void parallelBidsAreAllRecordedOnTheTender() throws Exception {
+		Tender tender = new Tender();
+		tender.setTitle("Burst");
+		tender.setBudget(1_000_000);
+		tender.setClientId("client");
+		String tenderId = tenderService.createTender(tender).getId();
+
+		// Release all bids at once from a pool of threads
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < BIDS; i++) {
+			int n = i;
+			futures.add(pool.submit(() -> {
+				start.await();
+				Bid bid = new Bid();
+				bid.setCompanyId("company-" + (n % 50));
+				bid.setAmount(10_000 + n);
+				return tenderService.addBidToTender(tenderId, bid);
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(2, TimeUnit.MINUTES);
+		}
+		pool.shutdown();
+
+		Tender saved = tenderRepository.findById(tenderId).orElseThrow();
+		assertEquals(BIDS, saved.getBidsCount());
+		assertEquals(10_000.0, saved.getLowestBid());
+		assertEquals(BIDS, bidRepository.findAll().stream()
+				.filter(bid -> tenderId.equals(bid.getTenderId()))
+				.count());
+	}
+
+}
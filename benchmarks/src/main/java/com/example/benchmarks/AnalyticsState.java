@@ -0,0 +1,179 @@
+package com.example.benchmarks;
+
+import com.example.backend.controller.DashboardController;
+import com.example.backend.dto.DashboardSummaryDTO;
+import com.example.backend.model.Bid;
+import com.example.backend.model.Company;
+import com.example.backend.model.Tender;
+import com.example.backend.repository.BidRepository;
+import com.example.backend.repository.CompanyRepository;
+import com.example.backend.repository.TenderRepository;
+import com.example.backend.service.BidAnalyticsService;
+import com.example.backend.service.BidJoinService;
+import com.example.backend.service.CompanyLeaderboard;
+import com.example.backend.service.CurrentUserService;
+import com.example.backend.service.DashboardCounterService;
+import com.example.backend.service.DashboardService;
+import com.example.backend.service.DashboardSnapshotService;
+import com.example.backend.service.TenderAwardService;
+import com.example.backend.service.UserTimeZoneService;
+import com.example.backend.util.TimeBuckets;
+import com.example.backend.util.TimeBuckets.Granularity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The analytics service and dashboard controller wired to in-memory repositories
+ * over a synthetic dataset of the given number of bids. The columnar store is
+ * disabled, so the repository-backed code paths are measured.
+ */
+@State(Scope.Benchmark)
+public class AnalyticsState {
+
+    @Param({"10000", "100000", "1000000"})
+    public int bids;
+
+    public BidAnalyticsService bidAnalyticsService;
+    public DashboardController dashboardController;
+    // Configured like the application's mapper: JSR-310 types as ISO-8601 strings
+    public ObjectMapper objectMapper;
+
+    // Inputs of the per-company benchmarks
+    public String companyId;
+    public Company company;
+    public List<Bid> companyBids;
+    public Map<String, Tender> companyTenders;
+    public TimeBuckets buckets;
+    public ZoneId zone;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData data = SyntheticData.generate(bids);
+        BidRepository bidRepository = InMemoryRepositories.bids(data);
+        TenderRepository tenderRepository = InMemoryRepositories.tenders(data);
+        CompanyRepository companyRepository = InMemoryRepositories.companies(data);
+
+        BidJoinService bidJoinService = new BidJoinService();
+        inject(bidJoinService, "tenderRepository", tenderRepository);
+        inject(bidJoinService, "companyRepository", companyRepository);
+
+        bidAnalyticsService = new BidAnalyticsService();
+        inject(bidAnalyticsService, "bidRepository", bidRepository);
+        inject(bidAnalyticsService, "tenderRepository", tenderRepository);
+        inject(bidAnalyticsService, "companyRepository", companyRepository);
+        inject(bidAnalyticsService, "bidJoinService", bidJoinService);
+
+        // The budget totals are a Mongo aggregation; sum the same fields in memory
+        TenderAwardService tenderAwardService = new TenderAwardService() {
+            @Override
+            public Map<String, Double> getBudgetTotals() {
+                Map<String, Double> totals = new HashMap<>();
+                totals.put("totalBudget", data.getTenders().stream().mapToDouble(Tender::getBudget).sum());
+                totals.put("utilizedBudget", data.getTenders().stream()
+                        .filter(tender -> tender.getAwardedAmount() != null)
+                        .mapToDouble(Tender::getAwardedAmount)
+                        .sum());
+                return totals;
+            }
+        };
+
+        // The summary is one read of the dashboard_counters document; serve the same totals from memory
+        DashboardSummaryDTO summary = summaryOf(data);
+        DashboardCounterService dashboardCounterService = new DashboardCounterService() {
+            @Override
+            public DashboardSummaryDTO getSummary() {
+                return summary;
+            }
+        };
+
+        // The leaderboard is loaded by a Mongo aggregation; group the same counters in memory
+        CompanyLeaderboard companyLeaderboard = new CompanyLeaderboard() {
+            @Override
+            protected List<Standing> aggregateStandings() {
+                return standingsOf(data);
+            }
+        };
+
+        DashboardService dashboardService = new DashboardService();
+        inject(dashboardService, "tenderRepository", tenderRepository);
+        inject(dashboardService, "bidRepository", bidRepository);
+        inject(dashboardService, "tenderAwardService", tenderAwardService);
+        inject(dashboardService, "dashboardCounterService", dashboardCounterService);
+        inject(dashboardService, "companyLeaderboard", companyLeaderboard);
+
+        dashboardController = new DashboardController();
+        inject(dashboardController, "tenderRepository", tenderRepository);
+        inject(dashboardController, "bidRepository", bidRepository);
+        inject(dashboardController, "companyRepository", companyRepository);
+        inject(dashboardController, "bidAnalyticsService", bidAnalyticsService);
+        inject(dashboardController, "bidJoinService", bidJoinService);
+        inject(dashboardController, "tenderAwardService", tenderAwardService);
+        inject(dashboardController, "dashboardService", dashboardService);
+        DashboardSnapshotService dashboardSnapshotService = new DashboardSnapshotService(new SimpleMeterRegistry());
+        inject(dashboardSnapshotService, "dashboardService", dashboardService);
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        inject(dashboardSnapshotService, "objectMapper", objectMapper);
+        inject(dashboardController, "dashboardSnapshotService", dashboardSnapshotService);
+        // Without an authenticated user the server time zone is used
+        UserTimeZoneService userTimeZoneService = new UserTimeZoneService();
+        inject(userTimeZoneService, "currentUserService", new CurrentUserService());
+        inject(dashboardController, "userTimeZoneService", userTimeZoneService);
+
+        company = data.getCompanies().get(0);
+        companyId = company.getId();
+        companyBids = bidRepository.findByCompanyId(companyId);
+        companyTenders = bidJoinService.tendersFor(companyBids);
+        zone = ZoneId.systemDefault();
+        buckets = TimeBuckets.last(6, Granularity.MONTH, ZonedDateTime.now(zone));
+    }
+
+    private static DashboardSummaryDTO summaryOf(SyntheticData data) {
+        return new DashboardSummaryDTO(
+                data.getTenders().size(),
+                data.getTenders().stream().filter(tender -> "active".equals(tender.getStatus())).count(),
+                data.getTenders().stream().filter(tender -> "ended".equals(tender.getStatus())).count(),
+                data.getTenders().stream().mapToDouble(Tender::getBudget).sum(),
+                data.getBids().size(),
+                data.getBids().stream().filter(bid -> "accepted".equals(bid.getStatus())).count(),
+                data.getCompanies().size());
+    }
+
+    private static List<CompanyLeaderboard.Standing> standingsOf(SyntheticData data) {
+        Map<String, List<Bid>> bidsByCompany = data.getBids().stream().collect(Collectors.groupingBy(Bid::getCompanyId));
+        List<CompanyLeaderboard.Standing> standings = new ArrayList<>();
+        bidsByCompany.forEach((companyId, companyBids) -> standings.add(new CompanyLeaderboard.Standing(
+                companyId,
+                companyBids.get(0).getCompanyName(),
+                companyBids.size(),
+                companyBids.stream().filter(bid -> "accepted".equals(bid.getStatus())).count(),
+                companyBids.stream().mapToDouble(Bid::getAmount).sum(),
+                companyBids.stream().filter(bid -> "accepted".equals(bid.getStatus())).mapToDouble(Bid::getAmount).sum())));
+        return standings;
+    }
+
+    private static void inject(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalStateException(target.getClass().getSimpleName() + " has no field " + name);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.benchmarks;
+
+import com.example.backend.dto.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every public BidAnalyticsService method. The per-company methods run for the
+ * first company of the dataset, both loading its bids and from preloaded bids.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BidAnalyticsBenchmark {
+
+    @Benchmark
+    public RateSeriesDTO successRate(AnalyticsState state) {
+        return state.bidAnalyticsService.getBidSuccessRate(state.companyId, state.buckets);
+    }
+
+    @Benchmark
+    public RateSeriesDTO successRatePreloaded(AnalyticsState state) {
+        return state.bidAnalyticsService.getBidSuccessRate(state.companyBids, state.buckets);
+    }
+
+    @Benchmark
+    public CountSeriesDTO volume(AnalyticsState state) {
+        return state.bidAnalyticsService.getBidVolume(state.companyId, state.buckets);
+    }
+
+    @Benchmark
+    public CountSeriesDTO volumePreloaded(AnalyticsState state) {
+        return state.bidAnalyticsService.getBidVolume(state.companyBids, state.buckets);
+    }
+
+    @Benchmark
+    public LabeledCountsDTO distribution(AnalyticsState state) {
+        return state.bidAnalyticsService.getBidDistribution(state.companyId);
+    }
+
+    @Benchmark
+    public LabeledCountsDTO distributionPreloaded(AnalyticsState state) {
+        return state.bidAnalyticsService.getBidDistribution(state.companyBids);
+    }
+
+    @Benchmark
+    public BidStatisticsDTO statistics(AnalyticsState state) {
+        return state.bidAnalyticsService.getBidStatistics(state.companyId, state.zone);
+    }
+
+    @Benchmark
+    public BidStatisticsDTO statisticsPreloaded(AnalyticsState state) {
+        return state.bidAnalyticsService.getBidStatistics(state.companyBids, state.zone);
+    }
+
+    @Benchmark
+    public PerformanceMetricsDTO performance(AnalyticsState state) {
+        return state.bidAnalyticsService.getPerformanceMetrics(state.companyId);
+    }
+
+    @Benchmark
+    public PerformanceMetricsDTO performancePreloaded(AnalyticsState state) {
+        return state.bidAnalyticsService.getPerformanceMetrics(state.companyBids, state.companyTenders);
+    }
+
+    @Benchmark
+    public BidAnalyticsDTO analysis(AnalyticsState state) {
+        return state.bidAnalyticsService.getBidAnalytics(state.companyId);
+    }
+
+    @Benchmark
+    public BidAnalyticsDTO analysisPreloaded(AnalyticsState state) {
+        return state.bidAnalyticsService.getBidAnalytics(state.company, state.companyBids, state.companyTenders);
+    }
+
+    @Benchmark
+    public List<BidTrendDTO> trends(AnalyticsState state) {
+        return state.bidAnalyticsService.getBidTrends("month", state.zone);
+    }
+
+    @Benchmark
+    public ProjectTimelinesDTO projectTimelines(AnalyticsState state) {
+        return state.bidAnalyticsService.getProjectTimelines(null);
+    }
+
+    @Benchmark
+    public ClientPreferencesDTO clientPreferences(AnalyticsState state) {
+        return state.bidAnalyticsService.getClientPreferences();
+    }
+
+    @Benchmark
+    public TenderActivityDTO tenderActivity(AnalyticsState state) {
+        return state.bidAnalyticsService.getTenderActivity(state.zone);
+    }
+}
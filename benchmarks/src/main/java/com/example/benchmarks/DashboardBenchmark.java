@@ -0,0 +1,66 @@
+package com.example.benchmarks;
+
+import com.example.backend.dto.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The DashboardController computations, called directly without the web layer.
+ * The company endpoints run for the first company of the dataset.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DashboardBenchmark {
+
+    @Benchmark
+    public ResponseEntity<DashboardSummaryDTO> clientSummary(AnalyticsState state) {
+        return state.dashboardController.getClientDashboardSummary();
+    }
+
+    // Serves the bytes of the snapshot built on the first call
+    @Benchmark
+    public ResponseEntity<byte[]> clientSnapshot(AnalyticsState state) {
+        return state.dashboardController.getClientDashboardSnapshot();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<RecentTenderDTO>> recentTenderActivity(AnalyticsState state) {
+        return state.dashboardController.getRecentTenderActivity(5, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<LabeledCountsDTO> tenderStatusDistribution(AnalyticsState state) {
+        return state.dashboardController.getTenderStatusDistribution();
+    }
+
+    @Benchmark
+    public ResponseEntity<CountSeriesDTO> bidActivityByMonth(AnalyticsState state) {
+        return state.dashboardController.getBidActivityByMonth(6);
+    }
+
+    @Benchmark
+    public ResponseEntity<BudgetUtilizationDTO> budgetUtilization(AnalyticsState state) {
+        return state.dashboardController.getBudgetUtilization();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<CompanyRankingDTO>> topPerformingCompanies(AnalyticsState state) {
+        return state.dashboardController.getTopPerformingCompanies(5, "successRate", 1);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<UpcomingDeadlineDTO>> companyUpcomingDeadlines(AnalyticsState state) {
+        return state.dashboardController.getCompanyUpcomingDeadlines(state.companyId, 5);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<RecentBidDTO>> companyRecentActivity(AnalyticsState state) {
+        return state.dashboardController.getCompanyRecentActivity(state.companyId, 5, null);
+    }
+}
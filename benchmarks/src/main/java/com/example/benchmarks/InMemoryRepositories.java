@@ -0,0 +1,258 @@
+package com.example.benchmarks;
+
+import com.example.backend.model.Bid;
+import com.example.backend.model.Company;
+import com.example.backend.model.Tender;
+import com.example.backend.repository.BidRepository;
+import com.example.backend.repository.CompanyRepository;
+import com.example.backend.repository.TenderRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Range;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Repository stand-ins answering the queries used by the benchmarked code from a
+ * {@link SyntheticData} set. Lookups use the same access paths as the Mongo
+ * indexes (ID, companyId, createdAt, proposedDeadline, winningCompanyType), so
+ * the benchmarks measure the analytics computations rather than collection scans.
+ * Like a real repository every call returns a new list; the entities themselves
+ * are shared.
+ * Any other repository method throws UnsupportedOperationException.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static BidRepository bids(SyntheticData data) {
+        List<Bid> bids = data.getBids();
+        Map<String, Bid> byId = index(bids, Bid::getId);
+        Map<String, List<Bid>> byCompany = bids.stream().collect(Collectors.groupingBy(Bid::getCompanyId));
+        SortedByTime<Bid> byCreatedAt = new SortedByTime<>(bids, Bid::getCreatedAt);
+        Map<String, NewestFirst<Bid>> byCompanyNewestFirst = new HashMap<>();
+        byCompany.forEach((companyId, companyBids) ->
+                byCompanyNewestFirst.put(companyId, new NewestFirst<>(companyBids, Bid::getCreatedAt, Bid::getId)));
+        NewestFirst<Bid> noBids = new NewestFirst<>(List.of(), Bid::getCreatedAt, Bid::getId);
+        Map<String, SortedByTime<Bid>> byCompanyStatusDeadline = new HashMap<>();
+        bids.stream()
+                .collect(Collectors.groupingBy(bid -> bid.getCompanyId() + "/" + bid.getStatus()))
+                .forEach((key, group) -> byCompanyStatusDeadline.put(key, new SortedByTime<>(group, Bid::getProposedDeadline)));
+        SortedByTime<Bid> noDeadlines = new SortedByTime<>(List.of(), Bid::getProposedDeadline);
+
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("findAll/0", args -> new ArrayList<>(bids));
+        methods.put("findById/1", args -> Optional.ofNullable(byId.get((String) args[0])));
+        methods.put("findAllById/1", args -> findAllById(byId, args[0]));
+        methods.put("count/0", args -> (long) bids.size());
+        methods.put("findByCompanyId/1", args -> new ArrayList<>(byCompany.getOrDefault((String) args[0], List.of())));
+        methods.put("findByCompanyId/2", args ->
+                byCompanyNewestFirst.getOrDefault((String) args[0], noBids).first((Pageable) args[1]));
+        methods.put("findByCompanyIdCreatedBefore/4", args -> byCompanyNewestFirst.getOrDefault((String) args[0], noBids)
+                .after((Instant) args[1], (String) args[2], (Pageable) args[3]));
+        methods.put("findByCompanyIdAndStatusAndProposedDeadlineAfter/4", args -> {
+            List<Bid> upcoming = byCompanyStatusDeadline.getOrDefault(args[0] + "/" + args[1], noDeadlines)
+                    .between(Range.rightUnbounded(Range.Bound.exclusive((Instant) args[2])));
+            return new ArrayList<>(upcoming.subList(0, Math.min(((Pageable) args[3]).getPageSize(), upcoming.size())));
+        });
+        methods.put("findByStatus/1", args -> bids.stream()
+                .filter(bid -> args[0].equals(bid.getStatus()))
+                .collect(Collectors.toList()));
+        methods.put("findByCreatedAtBetween/1", args -> byCreatedAt.between(range(args[0])));
+        methods.put("findByCompanyIdAndCreatedAtBetween/2", args -> {
+            Range<Instant> range = range(args[1]);
+            return byCompany.getOrDefault((String) args[0], List.of()).stream()
+                    .filter(bid -> bid.getCreatedAt() != null && range.contains(bid.getCreatedAt()))
+                    .collect(Collectors.toList());
+        });
+        return proxy(BidRepository.class, methods);
+    }
+
+    static TenderRepository tenders(SyntheticData data) {
+        List<Tender> tenders = data.getTenders();
+        Map<String, Tender> byId = index(tenders, Tender::getId);
+        Map<String, List<Tender>> byWinningCompanyType = tenders.stream()
+                .filter(tender -> tender.getWinningCompanyType() != null)
+                .collect(Collectors.groupingBy(Tender::getWinningCompanyType));
+        SortedByTime<Tender> byCreatedAt = new SortedByTime<>(tenders, Tender::getCreatedAt);
+        NewestFirst<Tender> newestFirst = new NewestFirst<>(tenders, Tender::getCreatedAt, Tender::getId);
+
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("findAll/0", args -> new ArrayList<>(tenders));
+        methods.put("findById/1", args -> Optional.ofNullable(byId.get((String) args[0])));
+        methods.put("findAllById/1", args -> findAllById(byId, args[0]));
+        methods.put("count/0", args -> (long) tenders.size());
+        methods.put("findByCreatedAtGreaterThanEqual/1", args ->
+                byCreatedAt.between(Range.rightUnbounded(Range.Bound.inclusive((Instant) args[0]))));
+        methods.put("findAllBy/1", args -> newestFirst.first((Pageable) args[0]));
+        methods.put("findCreatedBefore/3", args -> newestFirst.after((Instant) args[0], (String) args[1], (Pageable) args[2]));
+        methods.put("findByWinningCompanyTypeIn/1", args -> {
+            List<Tender> result = new ArrayList<>();
+            for (Object type : (Collection<?>) args[0]) {
+                result.addAll(byWinningCompanyType.getOrDefault((String) type, List.of()));
+            }
+            return result;
+        });
+        return proxy(TenderRepository.class, methods);
+    }
+
+    static CompanyRepository companies(SyntheticData data) {
+        List<Company> companies = data.getCompanies();
+        Map<String, Company> byId = index(companies, Company::getId);
+
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("findAll/0", args -> new ArrayList<>(companies));
+        methods.put("findById/1", args -> Optional.ofNullable(byId.get((String) args[0])));
+        methods.put("findAllById/1", args -> findAllById(byId, args[0]));
+        methods.put("count/0", args -> (long) companies.size());
+        return proxy(CompanyRepository.class, methods);
+    }
+
+    private static <T> T proxy(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            Object[] arguments = args != null ? args : new Object[0];
+            Function<Object[], Object> handler = methods.get(method.getName() + "/" + arguments.length);
+            if (handler != null) {
+                return handler.apply(arguments);
+            }
+            switch (method.getName()) {
+                case "toString":
+                    return "InMemory" + type.getSimpleName();
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "equals":
+                    return self == arguments[0];
+                default:
+                    throw new UnsupportedOperationException(
+                            type.getSimpleName() + "." + method.getName() + " is not supported in the benchmarks");
+            }
+        });
+        return type.cast(proxy);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Range<Instant> range(Object range) {
+        return (Range<Instant>) range;
+    }
+
+    private static <T> List<T> findAllById(Map<String, T> byId, Object ids) {
+        List<T> result = new ArrayList<>();
+        for (Object id : (Iterable<?>) ids) {
+            T entity = byId.get((String) id);
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    private static <T> Map<String, T> index(List<T> entities, Function<T, String> id) {
+        Map<String, T> byId = new HashMap<>();
+        for (T entity : entities) {
+            byId.put(id.apply(entity), entity);
+        }
+        return byId;
+    }
+
+    /**
+     * Entities sorted by a timestamp, answering range queries with a binary search
+     * like a range scan over an ascending index
+     */
+    private static class SortedByTime<T> {
+        private final List<T> sorted;
+        private final long[] times;
+
+        SortedByTime(List<T> entities, Function<T, Instant> time) {
+            this.sorted = entities.stream()
+                    .filter(entity -> time.apply(entity) != null)
+                    .sorted(Comparator.comparing(time))
+                    .collect(Collectors.toList());
+            this.times = sorted.stream().mapToLong(entity -> time.apply(entity).toEpochMilli()).toArray();
+        }
+
+        List<T> between(Range<Instant> range) {
+            int from = 0;
+            int to = times.length;
+            Range.Bound<Instant> lower = range.getLowerBound();
+            if (lower.isBounded()) {
+                long millis = lower.getValue().orElseThrow().toEpochMilli();
+                from = lower.isInclusive() ? firstAtOrAfter(millis) : firstAtOrAfter(millis + 1);
+            }
+            Range.Bound<Instant> upper = range.getUpperBound();
+            if (upper.isBounded()) {
+                long millis = upper.getValue().orElseThrow().toEpochMilli();
+                to = upper.isInclusive() ? firstAtOrAfter(millis + 1) : firstAtOrAfter(millis);
+            }
+            return from < to ? new ArrayList<>(sorted.subList(from, to)) : new ArrayList<>();
+        }
+
+        private int firstAtOrAfter(long millis) {
+            int low = 0;
+            int high = times.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (times[mid] < millis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Entities sorted newest first by (createdAt, id), answering the keyset pages of
+     * the recent activity queries with a binary search like a descending index seek.
+     * Pages are always newest first, the sort of the Pageable is not inspected.
+     */
+    private static class NewestFirst<T> {
+        private final List<T> sorted;
+        private final Comparator<T> order;
+        private final Function<T, Instant> time;
+        private final Function<T, String> id;
+
+        NewestFirst(List<T> entities, Function<T, Instant> time, Function<T, String> id) {
+            this.order = Comparator.comparing(time, Comparator.nullsFirst(Comparator.<Instant>naturalOrder()))
+                    .thenComparing(id)
+                    .reversed();
+            this.sorted = entities.stream().sorted(order).collect(Collectors.toList());
+            this.time = time;
+            this.id = id;
+        }
+
+        List<T> first(Pageable page) {
+            return new ArrayList<>(sorted.subList(0, Math.min(page.getPageSize(), sorted.size())));
+        }
+
+        List<T> after(Instant createdAt, String lastId, Pageable page) {
+            // First entity ordered after (createdAt, lastId)
+            int low = 0;
+            int high = sorted.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                T entity = sorted.get(mid);
+                Instant entityTime = time.apply(entity);
+                boolean after = entityTime == null || entityTime.isBefore(createdAt)
+                        || (entityTime.equals(createdAt) && id.apply(entity).compareTo(lastId) < 0);
+                if (after) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            // Like the Mongo query, entities without a creation time are never after a cursor
+            List<T> result = new ArrayList<>();
+            for (int i = low; i < sorted.size() && result.size() < page.getPageSize(); i++) {
+                if (time.apply(sorted.get(i)) != null) {
+                    result.add(sorted.get(i));
+                }
+            }
+            return result;
+        }
+    }
+}
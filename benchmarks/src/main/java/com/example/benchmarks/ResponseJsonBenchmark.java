@@ -0,0 +1,70 @@
+package com.example.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analytics and dashboard responses built and serialized to JSON the way the
+ * web layer writes them. Compare gc.alloc.rate.norm to see the allocation cost
+ * of the response objects on top of the computation.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ResponseJsonBenchmark {
+
+    @Benchmark
+    public byte[] successRate(AnalyticsState state) throws JsonProcessingException {
+        return state.objectMapper.writeValueAsBytes(
+                state.bidAnalyticsService.getBidSuccessRate(state.companyBids, state.buckets));
+    }
+
+    @Benchmark
+    public byte[] statistics(AnalyticsState state) throws JsonProcessingException {
+        return state.objectMapper.writeValueAsBytes(
+                state.bidAnalyticsService.getBidStatistics(state.companyBids, state.zone));
+    }
+
+    @Benchmark
+    public byte[] performance(AnalyticsState state) throws JsonProcessingException {
+        return state.objectMapper.writeValueAsBytes(
+                state.bidAnalyticsService.getPerformanceMetrics(state.companyBids, state.companyTenders));
+    }
+
+    @Benchmark
+    public byte[] analysis(AnalyticsState state) throws JsonProcessingException {
+        return state.objectMapper.writeValueAsBytes(
+                state.bidAnalyticsService.getBidAnalytics(state.company, state.companyBids, state.companyTenders));
+    }
+
+    @Benchmark
+    public byte[] projectTimelines(AnalyticsState state) throws JsonProcessingException {
+        return state.objectMapper.writeValueAsBytes(state.bidAnalyticsService.getProjectTimelines(null));
+    }
+
+    @Benchmark
+    public byte[] tenderActivity(AnalyticsState state) throws JsonProcessingException {
+        return state.objectMapper.writeValueAsBytes(state.bidAnalyticsService.getTenderActivity(state.zone));
+    }
+
+    @Benchmark
+    public byte[] clientSummary(AnalyticsState state) throws JsonProcessingException {
+        return state.objectMapper.writeValueAsBytes(state.dashboardController.getClientDashboardSummary().getBody());
+    }
+
+    @Benchmark
+    public byte[] topPerformingCompanies(AnalyticsState state) throws JsonProcessingException {
+        return state.objectMapper.writeValueAsBytes(
+                state.dashboardController.getTopPerformingCompanies(5, "successRate", 1).getBody());
+    }
+
+    @Benchmark
+    public byte[] companyRecentActivity(AnalyticsState state) throws JsonProcessingException {
+        return state.objectMapper.writeValueAsBytes(
+                state.dashboardController.getCompanyRecentActivity(state.companyId, 5, null).getBody());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.benchmarks;
+
+import com.example.backend.model.Bid;
+import com.example.backend.model.Company;
+import com.example.backend.model.Tender;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Deterministic synthetic dataset. The same bid count always produces the same
+ * companies, tenders and bids, with dates relative to the day it is generated:
+ * - one tender per ten bids, created over the last two years
+ * - one company per thousand bids (at least 50), spread over the three company types
+ * - bids submitted up to 30 days after their tender, 40% pending, 20% accepted, 40% rejected
+ * - the first accepted bid of each tender is its award
+ */
+public final class SyntheticData {
+
+    public static final List<String> COMPANY_TYPES = List.of("Commercial", "Residential", "Industrial");
+    private static final List<String> TENDER_STATUSES = List.of("new", "active", "ended");
+    private static final int CLIENTS = 100;
+    private static final long SEED = 42;
+
+    private final List<Company> companies;
+    private final List<Tender> tenders;
+    private final List<Bid> bids;
+
+    private SyntheticData(List<Company> companies, List<Tender> tenders, List<Bid> bids) {
+        this.companies = companies;
+        this.tenders = tenders;
+        this.bids = bids;
+    }
+
+    /**
+     * Generate a dataset
+     * @param bidCount Number of bids
+     * @return The dataset
+     */
+    public static SyntheticData generate(int bidCount) {
+        Random random = new Random(SEED);
+        Instant today = Instant.now().truncatedTo(ChronoUnit.DAYS);
+
+        List<Company> companies = new ArrayList<>();
+        int companyCount = Math.max(50, bidCount / 1000);
+        for (int i = 0; i < companyCount; i++) {
+            Company company = new Company();
+            company.setId("company-" + i);
+            company.setName("Company " + i);
+            company.setType(COMPANY_TYPES.get(i % COMPANY_TYPES.size()));
+            company.setRating(1 + random.nextInt(5));
+            companies.add(company);
+        }
+
+        List<Tender> tenders = new ArrayList<>();
+        int tenderCount = Math.max(1, bidCount / 10);
+        for (int i = 0; i < tenderCount; i++) {
+            Instant createdAt = today.minus(Duration.ofMinutes(random.nextInt(730 * 24 * 60)));
+            Tender tender = new Tender();
+            tender.setId("tender-" + i);
+            tender.setTitle("Tender " + i);
+            tender.setClientId("client-" + random.nextInt(CLIENTS));
+            tender.setBudget(10_000 + random.nextInt(990_000));
+            tender.setStatus(TENDER_STATUSES.get(random.nextInt(TENDER_STATUSES.size())));
+            tender.setCreatedAt(createdAt);
+            tender.setDeadline(createdAt.plus(Duration.ofDays(30 + random.nextInt(60))));
+            tenders.add(tender);
+        }
+
+        List<Bid> bids = new ArrayList<>(bidCount);
+        for (int i = 0; i < bidCount; i++) {
+            Tender tender = tenders.get(random.nextInt(tenderCount));
+            Company company = companies.get(random.nextInt(companyCount));
+            Instant createdAt = tender.getCreatedAt().plus(Duration.ofMinutes(random.nextInt(30 * 24 * 60)));
+            if (createdAt.isAfter(today)) {
+                createdAt = today;
+            }
+            int outcome = random.nextInt(10);
+
+            Bid bid = new Bid();
+            bid.setId("bid-" + i);
+            bid.setTenderId(tender.getId());
+            bid.setCompanyId(company.getId());
+            bid.setCompanyName(company.getName());
+            bid.setAmount(tender.getBudget() * (0.8 + random.nextDouble() * 0.4));
+            bid.setStatus(outcome < 4 ? "pending" : outcome < 6 ? "accepted" : "rejected");
+            bid.setCreatedAt(createdAt);
+            bid.setProposedDeadline(createdAt.plus(Duration.ofDays(30 + random.nextInt(150))));
+            bid.setTenderTitle(tender.getTitle());
+            bid.setTenderCreatedAt(tender.getCreatedAt());
+            bids.add(bid);
+
+            tender.setBidsCount(tender.getBidsCount() + 1);
+            if ("accepted".equals(bid.getStatus()) && tender.getWinningBidId() == null) {
+                tender.setWinningBidId(bid.getId());
+                tender.setWinningCompanyId(company.getId());
+                tender.setWinningCompanyType(company.getType());
+                tender.setAwardedAmount(bid.getAmount());
+                tender.setAwardedDeadline(bid.getProposedDeadline());
+            }
+        }
+        return new SyntheticData(companies, tenders, bids);
+    }
+
+    public List<Company> getCompanies() {
+        return companies;
+    }
+
+    public List<Tender> getTenders() {
+        return tenders;
+    }
+
+    public List<Bid> getBids() {
+        return bids;
+    }
+}